@@ -0,0 +1,96 @@
+package com.ugustavob.springjwtauthentication.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.ugustavob.springjwtauthentication.dto.GetAllUsersPageResponseDTO;
+import com.ugustavob.springjwtauthentication.dto.GetAllUsersResponseDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes a full {@code GET /users/} page the way the message converter does, with and without
+ * Blackbird and gzip. {@code payloadBytes} is the response size; run with {@code -prof gc} for
+ * allocated bytes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"default", "blackbird"})
+    public String mapper;
+
+    @Param({"identity", "gzip"})
+    public String encoding;
+
+    @Param({"200"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private GetAllUsersPageResponseDTO page;
+    private ByteArrayOutputStream buffer;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+
+        if (mapper.equals("blackbird")) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+
+        List<GetAllUsersResponseDTO> users = new ArrayList<>(pageSize);
+
+        for (int i = 0; i < pageSize; i++) {
+            users.add(new GetAllUsersResponseDTO(UUID.randomUUID(), "User " + i, "user" + i + "@example.com",
+                    Set.of("ROLE_USER")));
+        }
+        page = new GetAllUsersPageResponseDTO(users, "ZmZmZmZmZmZmLWZmZmYtZmZmZi1mZmZmLWZmZmZmZmZmZmZmZg");
+        buffer = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    @Benchmark
+    public int serializePage(Payload payload) throws IOException {
+        buffer.reset();
+
+        if (encoding.equals("gzip")) {
+            try (OutputStream out = new GZIPOutputStream(buffer)) {
+                objectMapper.writeValue(out, page);
+            }
+        } else {
+            objectMapper.writeValue(buffer, page);
+        }
+
+        payload.payloadBytes = buffer.size();
+        return buffer.size();
+    }
+}
@@ -0,0 +1,105 @@
+package com.ugustavob.springjwtauthentication.benchmarks;
+
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.repositories.token.RevokedTokenRepository;
+import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
+import com.ugustavob.springjwtauthentication.security.HmacSigningKeys;
+import com.ugustavob.springjwtauthentication.security.SecurityFilter;
+import com.ugustavob.springjwtauthentication.security.TokenRevocationList;
+import com.ugustavob.springjwtauthentication.security.TokenService;
+import com.ugustavob.springjwtauthentication.security.TokenVersionStore;
+import com.ugustavob.springjwtauthentication.security.UserPrincipalCache;
+import jakarta.servlet.FilterChain;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full pass through {@link SecurityFilter} with the repository mocked out, so only token, principal
+ * and security context costs are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterBenchmark {
+    @Param({"true", "false"})
+    public boolean principalCacheEnabled;
+
+    @Param({"true", "false"})
+    public boolean statelessPrincipal;
+
+    private SecurityFilter securityFilter;
+    private String authorization;
+    private final FilterChain filterChain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        UserEntity user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setName("Benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setPassword("hash");
+        user.setRole(new HashSet<>(Set.of("ROLE_USER")));
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        Mockito.when(userRepository.findTokenVersionById(user.getId())).thenReturn(Optional.of(0));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenService tokenService = new TokenService(new HmacSigningKeys("benchmark-secret"), meterRegistry, true,
+                10_000, statelessPrincipal, Duration.ofMinutes(15));
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(userRepository, meterRegistry,
+                principalCacheEnabled, 10_000, Duration.ofMinutes(1));
+
+        securityFilter = new SecurityFilter(tokenService,
+                new TokenVersionStore(userRepository, 10_000, Duration.ofSeconds(30)), userPrincipalCache,
+                new TokenRevocationList(Mockito.mock(RevokedTokenRepository.class)));
+        authorization = "Bearer " + tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        return this.filter();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object doFilterMultiThreaded() throws Exception {
+        return this.filter();
+    }
+
+    private Object filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/me/");
+        request.addHeader("Authorization", authorization);
+
+        securityFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        Object id = request.getAttribute("id");
+        SecurityContextHolder.clearContext();
+        return id;
+    }
+}
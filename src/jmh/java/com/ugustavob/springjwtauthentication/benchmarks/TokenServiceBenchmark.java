@@ -0,0 +1,108 @@
+package com.ugustavob.springjwtauthentication.benchmarks;
+
+import com.ugustavob.springjwtauthentication.entities.token.SigningKeyEntity;
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.repositories.token.SigningKeyRepository;
+import com.ugustavob.springjwtauthentication.security.EcSigningKeys;
+import com.ugustavob.springjwtauthentication.security.HmacSigningKeys;
+import com.ugustavob.springjwtauthentication.security.SigningKeys;
+import com.ugustavob.springjwtauthentication.security.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    @Param({"true", "false"})
+    public boolean statelessPrincipal;
+
+    @Param({"HS256", "ES256"})
+    public String signingAlgorithm;
+
+    private TokenService tokenService;
+    private UserEntity user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService(signingKeys(signingAlgorithm), new SimpleMeterRegistry(), cacheEnabled,
+                10_000, statelessPrincipal, Duration.ofMinutes(15));
+
+        user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setName("Benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setRole(new HashSet<>(Set.of("ROLE_USER")));
+
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String generateTokenMultiThreaded() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return tokenService.validateToken(token);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String validateTokenMultiThreaded() {
+        return tokenService.validateToken(token);
+    }
+
+    private static SigningKeys signingKeys(String algorithm) {
+        if ("HS256".equals(algorithm)) {
+            return new HmacSigningKeys("benchmark-secret");
+        }
+
+        List<SigningKeyEntity> stored = new ArrayList<>();
+        SigningKeyRepository repository = Mockito.mock(SigningKeyRepository.class);
+        Mockito.when(repository.save(Mockito.any())).thenAnswer(invocation -> {
+            stored.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        Mockito.when(repository.findByExpiresAtAfterOrderByActivatesAtDesc(Mockito.any()))
+                .thenAnswer(invocation -> List.copyOf(stored));
+
+        EcSigningKeys signingKeys = new EcSigningKeys(repository, Duration.ofDays(1), Duration.ofMinutes(30),
+                Duration.ofMinutes(5), Duration.ofSeconds(10));
+        signingKeys.refresh();
+        return signingKeys;
+    }
+}
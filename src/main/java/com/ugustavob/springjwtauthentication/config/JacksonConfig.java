@@ -0,0 +1,21 @@
+package com.ugustavob.springjwtauthentication.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers Blackbird with the auto-configured {@code ObjectMapper}, replacing reflective accessor
+ * calls on the response records with generated lambdas. Property names are already written from
+ * pre-encoded {@code SerializedString}s by Jackson itself.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.json.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+public class JacksonConfig {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ugustavob.springjwtauthentication.config;
+
+import com.ugustavob.springjwtauthentication.repositories.token.SigningKeyRepository;
+import com.ugustavob.springjwtauthentication.security.EcSigningKeys;
+import com.ugustavob.springjwtauthentication.security.HmacSigningKeys;
+import com.ugustavob.springjwtauthentication.security.SigningKeys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Selects how access tokens are signed. {@code HS256} keeps the shared secret; {@code ES256} signs
+ * with rotating key pairs whose public halves are served at {@code /.well-known/jwks.json}.
+ */
+@Configuration
+public class TokenSigningConfig {
+
+    @Bean
+    public SigningKeys signingKeys(
+            SigningKeyRepository signingKeyRepository,
+            @Value("${api.security.token.signing.algorithm:HS256}") String algorithm,
+            @Value("${api.security.token.secret:}") String secret,
+            @Value("${api.security.token.signing.rotation-interval:1d}") Duration rotationInterval,
+            @Value("${api.security.token.signing.overlap:30m}") Duration overlap,
+            @Value("${api.security.token.signing.publish-ahead:5m}") Duration publishAhead,
+            @Value("${api.security.token.signing.reload-min-interval:10s}") Duration reloadMinInterval
+    ) {
+        return switch (algorithm.trim().toUpperCase()) {
+            case "HS256" -> new HmacSigningKeys(secret);
+            case "ES256" -> new EcSigningKeys(signingKeyRepository, rotationInterval, overlap, publishAhead,
+                    reloadMinInterval);
+            default -> throw new IllegalArgumentException("Unsupported token signing algorithm: " + algorithm);
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.ugustavob.springjwtauthentication.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true}. Spring Boot already moves Tomcat
+ * and the application task executor onto virtual threads; this limits how many of them can
+ * contend for the connection pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${api.datasource.max-concurrent-connections:0}") int maxConcurrentConnections,
+            @Value("${api.datasource.acquire-timeout:0s}") Duration acquireTimeout
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+
+                HikariDataSource hikari = dataSource instanceof HikariDataSource pool ? pool : null;
+
+                int limit = maxConcurrentConnections;
+                if (limit <= 0) {
+                    limit = hikari != null ? hikari.getMaximumPoolSize() : 10;
+                }
+
+                Duration timeout = acquireTimeout;
+                if (timeout.isZero() || timeout.isNegative()) {
+                    timeout = Duration.ofMillis(hikari != null ? hikari.getConnectionTimeout() : 30_000);
+                }
+                return new ConnectionLimitingDataSource(dataSource, limit, timeout);
+            }
+        };
+    }
+}
@@ -1,10 +1,20 @@
 package com.ugustavob.springjwtauthentication.controllers;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.ugustavob.springjwtauthentication.dto.LoginRequestDTO;
 import com.ugustavob.springjwtauthentication.dto.LoginResponseDTO;
+import com.ugustavob.springjwtauthentication.dto.LogoutRequestDTO;
+import com.ugustavob.springjwtauthentication.dto.RefreshTokenRequestDTO;
 import com.ugustavob.springjwtauthentication.dto.RegisterRequestDTO;
 import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.exceptions.InvalidRefreshTokenException;
+import com.ugustavob.springjwtauthentication.exceptions.PasswordHashingBusyException;
+import com.ugustavob.springjwtauthentication.security.LoginThrottle;
+import com.ugustavob.springjwtauthentication.security.PasswordHashingService;
 import com.ugustavob.springjwtauthentication.security.TokenService;
+import com.ugustavob.springjwtauthentication.useCases.token.CreateRefreshTokenUseCase;
+import com.ugustavob.springjwtauthentication.useCases.token.LogoutUseCase;
+import com.ugustavob.springjwtauthentication.useCases.token.RefreshTokenUseCase;
 import com.ugustavob.springjwtauthentication.useCases.user.CreateUserUseCase;
 import com.ugustavob.springjwtauthentication.useCases.user.LoginUserUseCase;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,15 +24,21 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -31,6 +47,12 @@ public class AuthController {
     private final LoginUserUseCase loginUserUseCase;
     private final TokenService tokenService;
     private final CreateUserUseCase createUserUseCase;
+    private final LoginThrottle loginThrottle;
+    private final CreateRefreshTokenUseCase createRefreshTokenUseCase;
+    private final RefreshTokenUseCase refreshTokenUseCase;
+    private final LogoutUseCase logoutUseCase;
+
+    private static final int LOGIN_RETRY_AFTER_SECONDS = 10;
 
     @Operation(
             summary = "Login",
@@ -58,6 +80,32 @@ public class AuthController {
                             schema = @Schema(implementation = String.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many attempts",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = "Too many attempts, try again later",
+                                    summary = "Too many attempts, try again later",
+                                    name = "Too many attempts, try again later"
+                            ),
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Too many concurrent authentication requests",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = "Server is busy, try again later",
+                                    summary = "Server is busy, try again later",
+                                    name = "Server is busy, try again later"
+                            ),
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized",
@@ -76,13 +124,23 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> login(
             @Parameter(description = "Email and password", required = true)
-            @Valid @RequestBody LoginRequestDTO loginRequest
+            @Valid @RequestBody LoginRequestDTO loginRequest,
+            HttpServletRequest request
     ) {
+        if (!loginThrottle.tryAcquire(loginRequest.email(), request.getRemoteAddr())) {
+            return tooManyAttempts();
+        }
+
         try {
             UserEntity user = loginUserUseCase.execute(loginRequest);
             String token = tokenService.generateToken(user);
+            String refreshToken = createRefreshTokenUseCase.execute(user);
 
-            return ResponseEntity.ok(new LoginResponseDTO(user.getName(), token));
+            return ResponseEntity.ok(new LoginResponseDTO(user.getName(), token, refreshToken));
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingService.RETRY_AFTER_SECONDS))
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -111,6 +169,19 @@ public class AuthController {
                             schema = @Schema(implementation = String.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many attempts",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = "Too many attempts, try again later",
+                                    summary = "Too many attempts, try again later",
+                                    name = "Too many attempts, try again later"
+                            ),
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "422",
                     description = "Invalid data",
@@ -141,15 +212,138 @@ public class AuthController {
     @PostMapping("/register")
     public ResponseEntity<?> register(
             @Parameter(description = "Name, email and password", required = true)
-            @Valid @RequestBody RegisterRequestDTO body
+            @Valid @RequestBody RegisterRequestDTO body,
+            HttpServletRequest request
     ){
+        if (!loginThrottle.tryAcquire(body.email(), request.getRemoteAddr())) {
+            return tooManyAttempts();
+        }
+
         try {
             UserEntity newUser = createUserUseCase.execute(body);
             String token = tokenService.generateToken(newUser);
+            String refreshToken = createRefreshTokenUseCase.execute(newUser);
 
-            return ResponseEntity.created(null).body(new LoginResponseDTO(newUser.getName(), token));
+            return ResponseEntity.created(null).body(new LoginResponseDTO(newUser.getName(), token, refreshToken));
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingService.RETRY_AFTER_SECONDS))
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    @Operation(
+            summary = "Refresh",
+            description = "Exchange a refresh token for a new access token and a new refresh token. Each refresh " +
+                    "token can be used once; reusing one revokes every token issued from the same login."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Refresh successful",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = LoginResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Invalid refresh token",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            value = "Invalid refresh token",
+                                            summary = "Invalid refresh token",
+                                            name = "Invalid refresh token"
+                                    ),
+                                    @ExampleObject(
+                                            value = "Refresh token expired",
+                                            summary = "Refresh token expired",
+                                            name = "Refresh token expired"
+                                    ),
+                                    @ExampleObject(
+                                            value = "Refresh token reuse detected",
+                                            summary = "Refresh token reuse detected",
+                                            name = "Refresh token reuse detected"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            )
+    })
+    @Schema(name = "RefreshTokenRequestDTO", implementation = RefreshTokenRequestDTO.class)
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(
+            @Parameter(description = "Refresh token", required = true)
+            @Valid @RequestBody RefreshTokenRequestDTO body
+    ) {
+        try {
+            return ResponseEntity.ok(refreshTokenUseCase.execute(body.refreshToken()));
+        } catch (InvalidRefreshTokenException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(
+            summary = "Logout",
+            description = "Revoke the access token used for this request and, if given, the refresh token family."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Logout successful",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = "Logged out",
+                                    summary = "Logged out",
+                                    name = "Logged out"
+                            ),
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = "Unauthorized",
+                                    summary = "Unauthorized",
+                                    name = "Unauthorized"
+                            ),
+                            schema = @Schema(implementation = String.class)
+                    )
+            )
+    })
+    @SecurityRequirement(name = "bearer")
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestBody(required = false) LogoutRequestDTO body,
+            HttpServletRequest request
+    ) {
+        var jwt = (DecodedJWT) request.getAttribute("jwt");
+
+        if (jwt == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Unauthorized");
+        }
+
+        try {
+            logoutUseCase.execute((UUID) request.getAttribute("id"), jwt, body != null ? body.refreshToken() : null);
+            return ResponseEntity.ok("Logged out");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private ResponseEntity<String> tooManyAttempts() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(LOGIN_RETRY_AFTER_SECONDS))
+                .body("Too many attempts, try again later");
+    }
 }
@@ -0,0 +1,46 @@
+package com.ugustavob.springjwtauthentication.controllers;
+
+import com.ugustavob.springjwtauthentication.security.SigningKeys;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@Tag(name = "Auth", description = "Endpoints for login and register")
+public class JwksController {
+    private final SigningKeys signingKeys;
+    private final Duration maxAge;
+
+    public JwksController(
+            SigningKeys signingKeys,
+            @Value("${api.security.token.signing.publish-ahead:5m}") Duration maxAge
+    ) {
+        this.signingKeys = signingKeys;
+        this.maxAge = maxAge;
+    }
+
+    @Operation(
+            summary = "JSON Web Key Set",
+            description = "Public keys that verify access tokens, selected by the token's kid header. Empty when " +
+                    "tokens are signed with a shared secret."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Key set")
+    })
+    @GetMapping(value = "/.well-known/jwks.json", produces = "application/jwk-set+json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+                .body(Map.of("keys", signingKeys.jwks()));
+    }
+}
@@ -1,15 +1,29 @@
 package com.ugustavob.springjwtauthentication.controllers;
 
 import com.ugustavob.springjwtauthentication.dto.AssignRoleRequestDTO;
-import com.ugustavob.springjwtauthentication.dto.GetAllUsersResponseDTO;
+import com.ugustavob.springjwtauthentication.dto.BulkDeleteRequestDTO;
+import com.ugustavob.springjwtauthentication.dto.BulkDeleteResponseDTO;
+import com.ugustavob.springjwtauthentication.dto.BulkRoleRequestDTO;
+import com.ugustavob.springjwtauthentication.dto.BulkRoleResponseDTO;
+import com.ugustavob.springjwtauthentication.dto.GetAllUsersPageResponseDTO;
 import com.ugustavob.springjwtauthentication.dto.RegisterRequestDTO;
 import com.ugustavob.springjwtauthentication.dto.GetUserResponseDTO;
+import com.ugustavob.springjwtauthentication.dto.PatchUserRequestDTO;
+import com.ugustavob.springjwtauthentication.dto.UserImportResponseDTO;
 import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.exceptions.PasswordHashingBusyException;
 import com.ugustavob.springjwtauthentication.exceptions.UserNotFoundException;
+import com.ugustavob.springjwtauthentication.security.PasswordHashingService;
 import com.ugustavob.springjwtauthentication.useCases.role.AssignRoleUseCase;
+import com.ugustavob.springjwtauthentication.useCases.role.BulkRoleUseCase;
+import com.ugustavob.springjwtauthentication.useCases.token.RevokeUserSessionsUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.BulkDeleteUsersUseCase;
 import com.ugustavob.springjwtauthentication.useCases.user.DeleteUserUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.ExportUsersUseCase;
 import com.ugustavob.springjwtauthentication.useCases.user.GetAllUsersUseCase;
 import com.ugustavob.springjwtauthentication.useCases.user.GetUserUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.ImportUsersUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.PatchUserUseCase;
 import com.ugustavob.springjwtauthentication.useCases.user.UpdateUserUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -20,14 +34,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.UUID;
 
 @RestController
@@ -37,12 +57,19 @@ import java.util.UUID;
 public class UsersController {
     private final GetUserUseCase getUserUseCase;
     private final AssignRoleUseCase assignRoleUseCase;
+    private final BulkRoleUseCase bulkRoleUseCase;
     private final GetAllUsersUseCase getAllUsersUseCase;
     private final DeleteUserUseCase deleteUserUseCase;
+    private final BulkDeleteUsersUseCase bulkDeleteUsersUseCase;
     private final UpdateUserUseCase updateUserUseCase;
+    private final PatchUserUseCase patchUserUseCase;
+    private final ExportUsersUseCase exportUsersUseCase;
+    private final ImportUsersUseCase importUsersUseCase;
+    private final RevokeUserSessionsUseCase revokeUserSessionsUseCase;
 
     @GetMapping("/me/")
-    @Operation(summary = "Get user", description = "Get the authenticated user's details.")
+    @Operation(summary = "Get user", description = "Get the authenticated user's details. Responses carry an " +
+            "ETag; send it back in If-None-Match to get a 304 while the user is unchanged.")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
@@ -52,6 +79,10 @@ public class UsersController {
                             schema = @Schema(implementation = UserEntity.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the ETag sent in If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized",
@@ -85,7 +116,7 @@ public class UsersController {
     })
     @Schema(name = "UserEntity", implementation = UserEntity.class)
     @SecurityRequirement(name = "bearer")
-    public ResponseEntity<?> getUser(HttpServletRequest request) {
+    public ResponseEntity<?> getUser(HttpServletRequest request, WebRequest webRequest) {
         var id = (UUID) request.getAttribute("id");
 
         if (id == null) {
@@ -93,8 +124,14 @@ public class UsersController {
         }
 
         try {
+            if (webRequest.checkNotModified(getUserUseCase.etag(id))) {
+                return null;
+            }
+
             UserEntity user = getUserUseCase.execute(id);
-            return ResponseEntity.ok(new GetUserResponseDTO(user.getId(), user.getName(), user.getEmail()));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(new GetUserResponseDTO(user.getId(), user.getName(), user.getEmail()));
         } catch (UserNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         } catch (Exception e) {
@@ -174,6 +211,21 @@ public class UsersController {
                             },
                             schema = @Schema(implementation = String.class)
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Conflict",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Conflict",
+                                            summary = "User was modified concurrently",
+                                            value = "User was modified concurrently, try again"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
             )
     })
     @Schema(name = "UserEntity", implementation = UserEntity.class)
@@ -191,8 +243,115 @@ public class UsersController {
 
         try {
             UserEntity user = updateUserUseCase.execute(new UserEntity(id, registerRequestDTO.name(),
-                    registerRequestDTO.email(), registerRequestDTO.password(), null));
+                    registerRequestDTO.email(), registerRequestDTO.password(), null, 0, 0, null));
             return ResponseEntity.ok(new GetUserResponseDTO(user.getId(), user.getName(), user.getEmail()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("User was modified concurrently, try again");
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingService.RETRY_AFTER_SECONDS))
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PatchMapping("/me/")
+    @Operation(summary = "Patch user", description = "Update only the given fields of the authenticated user. The " +
+            "password is only re-hashed when a new one is sent.")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "User updated",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = GetUserResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Email already exists",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Email already exists",
+                                            summary = "Email already exists",
+                                            value = "Email already exists"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Unauthorized",
+                                            summary = "Unauthorized",
+                                            value = "Unauthorized"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "User not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "User not found",
+                                            summary = "User not found",
+                                            value = "User not found"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Conflict",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Conflict",
+                                            summary = "User was modified concurrently",
+                                            value = "User was modified concurrently, try again"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            )
+    })
+    @SecurityRequirement(name = "bearer")
+    public ResponseEntity<?> patchUser(
+            @Valid @RequestBody
+            PatchUserRequestDTO patchUserRequestDTO,
+            HttpServletRequest request
+    ) {
+        var id = (UUID) request.getAttribute("id");
+
+        if (id == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+        }
+
+        try {
+            UserEntity user = patchUserUseCase.execute(id, patchUserRequestDTO);
+            return ResponseEntity.ok(new GetUserResponseDTO(user.getId(), user.getName(), user.getEmail()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("User was modified concurrently, try again");
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingService.RETRY_AFTER_SECONDS))
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -200,7 +359,9 @@ public class UsersController {
 
     @Operation(
             summary = "Get all users",
-            description = "Retrieve a list of all users (Admin access required)."
+            description = "Retrieve a page of users ordered by id (Admin access required). Pass the returned " +
+                    "nextCursor as cursor to fetch the following page. Each page carries an ETag for " +
+                    "If-None-Match."
     )
     @ApiResponses({
             @ApiResponse(
@@ -208,9 +369,13 @@ public class UsersController {
                     description = "Users found",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = GetAllUsersResponseDTO.class)
+                            schema = @Schema(implementation = GetAllUsersPageResponseDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the ETag sent in If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized",
@@ -260,51 +425,161 @@ public class UsersController {
     @Schema(name = "UserEntity", implementation = UserEntity.class)
     @SecurityRequirement(name = "bearer")
     @GetMapping("/")
-    public ResponseEntity<?> getAllUsers(HttpServletRequest request) {
-        var id = (UUID) request.getAttribute("id");
-
+    public ResponseEntity<?> getAllUsers(
+            WebRequest webRequest,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
         try {
-            UserEntity user = getUserUseCase.execute(id);
-
-            if (user.getRole().contains("ROLE_ADMIN")) {
-                List<GetAllUsersResponseDTO> users = getAllUsersUseCase.execute();
+            if (webRequest.checkNotModified(getAllUsersUseCase.etag(cursor, size))) {
+                return null;
+            }
 
-                if (users == null) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Users not found");
-                }
+            GetAllUsersPageResponseDTO users = getAllUsersUseCase.execute(cursor, size);
 
-                return ResponseEntity.ok(users);
-            } else {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("User is not an admin");
+            if (users == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Users not found");
             }
 
-        } catch (UserNotFoundException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(users);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @Operation(
-            summary = "Delete user",
-            description = "Delete a user (Restricted to admins. Users cannot delete themselves)."
+            summary = "Export users",
+            description = "Stream every user with their roles as NDJSON or CSV (Admin access required). Use " +
+                    "updatedSince to export only users changed since the given instant."
     )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "User deleted",
+                    description = "Export stream",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
                     content = @Content(
                             mediaType = "application/json",
                             examples = {
                                     @ExampleObject(
-                                            name = "User deleted",
-                                            summary = "User deleted",
-                                            value = "User deleted successfully"
+                                            name = "Unauthorized",
+                                            summary = "Unauthorized",
+                                            value = "Unauthorized"
                                     )
                             },
                             schema = @Schema(implementation = String.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Forbidden",
+                                            summary = "User is not an admin",
+                                            value = "User is not an admin"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            )
+    })
+    @SecurityRequirement(name = "bearer")
+    @GetMapping("/export")
+    public ResponseEntity<?> exportUsers(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Instant updatedSince
+    ) {
+        try {
+            ExportUsersUseCase.Format exportFormat = ExportUsersUseCase.Format.from(format);
+            StreamingResponseBody body = out -> exportUsersUseCase.execute(exportFormat, updatedSince, out);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                    .body(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(
+            summary = "Import users",
+            description = "Create users in bulk from a JSON array or newline-delimited JSON of name, email and " +
+                    "password (Admin access required). Returns the outcome of every row."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import finished",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = UserImportResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Unauthorized",
+                                            summary = "Unauthorized",
+                                            value = "Unauthorized"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Forbidden",
+                                            summary = "User is not an admin",
+                                            value = "User is not an admin"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            )
+    })
+    @SecurityRequirement(name = "bearer")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<?> importUsers(InputStream body) {
+        try {
+            return ResponseEntity.ok(importUsersUseCase.execute(body));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(
+            summary = "Delete user",
+            description = "Delete a user (Restricted to admins. Users cannot delete themselves)."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "The deleted user",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = GetUserResponseDTO.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized",
@@ -357,26 +632,153 @@ public class UsersController {
             )
     })
     @SecurityRequirement(name = "bearer")
-    @Transactional
     @DeleteMapping("/{uuid}")
     public ResponseEntity<?> deleteUser(HttpServletRequest request, @PathVariable UUID uuid) {
         var id = (UUID) request.getAttribute("id");
 
+        if (id.equals(uuid)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can't delete yourself");
+        }
+
         try {
-            UserEntity user = getUserUseCase.execute(id);
+            return ResponseEntity.ok(deleteUserUseCase.execute(uuid));
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
-            if (user.getRole().contains("ROLE_ADMIN")) {
-                if (id.toString().equals(uuid.toString())) {
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can't delete yourself");
-                }
+    @Operation(
+            summary = "Delete users in bulk",
+            description = "Delete a list of users or every user matching the filters (Admin access required). " +
+                    "Users are deleted in bounded batches and the caller is never deleted."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Number of users deleted",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkDeleteResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Bad request",
+                                            summary = "No users selected",
+                                            value = "Either userIds or a filter is required"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Unauthorized",
+                                            summary = "Unauthorized",
+                                            value = "Unauthorized"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Forbidden",
+                                            summary = "User is not an admin",
+                                            value = "User is not an admin"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            )
+    })
+    @SecurityRequirement(name = "bearer")
+    @PostMapping("/delete")
+    public ResponseEntity<?> deleteUsers(HttpServletRequest request, @RequestBody BulkDeleteRequestDTO bulkDeleteRequestDTO) {
+        var id = (UUID) request.getAttribute("id");
 
-                deleteUserUseCase.execute(uuid);
+        try {
+            return ResponseEntity.ok(bulkDeleteUsersUseCase.execute(bulkDeleteRequestDTO, id));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
-                return ResponseEntity.ok("User deleted");
-            } else {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("User is not an admin");
-            }
+    @Operation(
+            summary = "Revoke sessions",
+            description = "Revoke every access and refresh token issued to a user so far (Restricted to admins)."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Sessions revoked",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Sessions revoked",
+                                            summary = "Sessions revoked",
+                                            value = "Sessions revoked"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Unauthorized",
+                                            summary = "Unauthorized",
+                                            value = "Unauthorized"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Forbidden",
+                                            summary = "User is not an admin",
+                                            value = "User is not an admin"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            )
+    })
+    @SecurityRequirement(name = "bearer")
+    @PostMapping("/{uuid}/sessions/revoke")
+    public ResponseEntity<?> revokeSessions(@PathVariable UUID uuid) {
+        try {
+            revokeUserSessionsUseCase.execute(uuid);
 
+            return ResponseEntity.ok("Sessions revoked");
         } catch (UserNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         } catch (Exception e) {
@@ -437,6 +839,11 @@ public class UsersController {
                                             name = "Conflict",
                                             summary = "User already has role",
                                             value = "User already has role"
+                                    ),
+                                    @ExampleObject(
+                                            name = "Conflict",
+                                            summary = "User was modified concurrently",
+                                            value = "User was modified concurrently, try again"
                                     )
                             },
                             schema = @Schema(implementation = String.class)
@@ -462,32 +869,133 @@ public class UsersController {
     @SecurityRequirement(name = "bearer")
     @PostMapping("/{uuid}/roles")
     public ResponseEntity<Object> assignRole(
-            HttpServletRequest request,
             @Valid @RequestBody AssignRoleRequestDTO assignRoleRequestDTO,
             @PathVariable String uuid
     ) {
-        var id = (UUID) request.getAttribute("id");
+        try {
+            UserEntity updatedUser = assignRoleUseCase.execute(assignRoleRequestDTO, UUID.fromString(uuid));
 
-        if (id == null) {
+            return ResponseEntity.ok(updatedUser);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("User was modified concurrently, try again");
+        } catch (UserNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
 
-        try {
-            UserEntity user = getUserUseCase.execute(id);
+    }
 
-            if (user.getRole().contains("ROLE_ADMIN")) {
-                UserEntity updatedUser = assignRoleUseCase.execute(assignRoleRequestDTO, UUID.fromString(uuid));
+    @Operation(
+            summary = "Grant role in bulk",
+            description = "Grant a role to a list of users or to every user matching the filters (Admin access " +
+                    "required). Users that already have the role are left unchanged."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Number of users whose roles changed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkRoleResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Unauthorized",
+                                            summary = "Unauthorized",
+                                            value = "Unauthorized"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Forbidden",
+                                            summary = "User is not an admin",
+                                            value = "User is not an admin"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            )
+    })
+    @SecurityRequirement(name = "bearer")
+    @PostMapping("/roles/grant")
+    public ResponseEntity<?> grantRole(HttpServletRequest request, @Valid @RequestBody BulkRoleRequestDTO bulkRoleRequestDTO) {
+        return this.updateRoles(request, BulkRoleUseCase.Action.GRANT, bulkRoleRequestDTO);
+    }
 
-                return ResponseEntity.ok(updatedUser);
-            } else {
-                return ResponseEntity.badRequest().body("User is not an admin");
-            }
+    @Operation(
+            summary = "Revoke role in bulk",
+            description = "Revoke a role from a list of users or from every user matching the filters (Admin " +
+                    "access required). The caller is never included, so admins cannot revoke their own roles."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Number of users whose roles changed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkRoleResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Unauthorized",
+                                            summary = "Unauthorized",
+                                            value = "Unauthorized"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Forbidden",
+                                            summary = "User is not an admin",
+                                            value = "User is not an admin"
+                                    )
+                            },
+                            schema = @Schema(implementation = String.class)
+                    )
+            )
+    })
+    @SecurityRequirement(name = "bearer")
+    @PostMapping("/roles/revoke")
+    public ResponseEntity<?> revokeRole(HttpServletRequest request, @Valid @RequestBody BulkRoleRequestDTO bulkRoleRequestDTO) {
+        return this.updateRoles(request, BulkRoleUseCase.Action.REVOKE, bulkRoleRequestDTO);
+    }
 
-        } catch (UserNotFoundException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+    private ResponseEntity<?> updateRoles(HttpServletRequest request, BulkRoleUseCase.Action action,
+                                          BulkRoleRequestDTO bulkRoleRequestDTO) {
+        var id = (UUID) request.getAttribute("id");
+
+        try {
+            return ResponseEntity.ok(bulkRoleUseCase.execute(action, bulkRoleRequestDTO, id));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
-
     }
 }
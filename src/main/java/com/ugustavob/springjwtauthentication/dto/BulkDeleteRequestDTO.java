@@ -0,0 +1,16 @@
+package com.ugustavob.springjwtauthentication.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkDeleteRequestDTO(
+        @Schema(description = "Users to delete. When empty, every user matching the filters is deleted")
+        List<UUID> userIds,
+        @Schema(description = "Only users that have this role", example = "USER")
+        String withRole,
+        @Schema(description = "Only users whose email belongs to this domain", example = "example.com")
+        String emailDomain
+) {
+}
@@ -0,0 +1,6 @@
+package com.ugustavob.springjwtauthentication.dto;
+
+public record BulkDeleteResponseDTO(
+        long deleted
+) {
+}
@@ -0,0 +1,20 @@
+package com.ugustavob.springjwtauthentication.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkRoleRequestDTO(
+        @Schema(description = "Role to grant or revoke", example = "MODERATOR", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank(message = "Role is required")
+        String role,
+        @Schema(description = "Users to update. When empty, every user matching the filters is updated")
+        List<UUID> userIds,
+        @Schema(description = "Only users that already have this role", example = "USER")
+        String withRole,
+        @Schema(description = "Only users whose email belongs to this domain", example = "gmail.com")
+        String emailDomain
+) {
+}
@@ -0,0 +1,7 @@
+package com.ugustavob.springjwtauthentication.dto;
+
+public record BulkRoleResponseDTO(
+        String role,
+        int updated
+) {
+}
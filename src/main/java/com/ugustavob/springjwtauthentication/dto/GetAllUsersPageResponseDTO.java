@@ -0,0 +1,9 @@
+package com.ugustavob.springjwtauthentication.dto;
+
+import java.util.List;
+
+public record GetAllUsersPageResponseDTO(
+        List<GetAllUsersResponseDTO> users,
+        String nextCursor
+) {
+}
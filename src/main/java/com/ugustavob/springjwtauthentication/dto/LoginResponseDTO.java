@@ -1,4 +1,4 @@
 package com.ugustavob.springjwtauthentication.dto;
 
-public record LoginResponseDTO(String name, String token){
+public record LoginResponseDTO(String name, String token, String refreshToken){
 }
@@ -0,0 +1,9 @@
+package com.ugustavob.springjwtauthentication.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record LogoutRequestDTO(
+        @Schema(description = "Refresh token to revoke along with the access token")
+        String refreshToken
+) {
+}
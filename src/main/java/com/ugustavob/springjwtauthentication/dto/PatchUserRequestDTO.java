@@ -0,0 +1,20 @@
+package com.ugustavob.springjwtauthentication.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import org.hibernate.validator.constraints.Length;
+
+public record PatchUserRequestDTO(
+        @Pattern(regexp = ".*\\S.*", message = "Name must not be blank")
+        @Schema(description = "New name of the user", example = "Jesse Pinkman")
+        String name,
+        @Pattern(regexp = ".*\\S.*", message = "Email must not be blank")
+        @Email(message = "Invalid email")
+        @Schema(description = "New email of the user", example = "example@gmail.com")
+        String email,
+        @Length(min = 6, message = "Password must have at least 6 characters")
+        @Schema(description = "New password of the user", example = "123456")
+        String password
+) {
+}
@@ -0,0 +1,11 @@
+package com.ugustavob.springjwtauthentication.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequestDTO(
+        @NotBlank(message = "Refresh token is required")
+        @Schema(description = "Refresh token returned by login, register or refresh", requiredMode = Schema.RequiredMode.REQUIRED)
+        String refreshToken
+) {
+}
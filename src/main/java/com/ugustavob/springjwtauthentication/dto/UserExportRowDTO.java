@@ -0,0 +1,14 @@
+package com.ugustavob.springjwtauthentication.dto;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+public record UserExportRowDTO(
+        UUID id,
+        String name,
+        String email,
+        Set<String> role,
+        Instant updatedAt
+) {
+}
@@ -0,0 +1,11 @@
+package com.ugustavob.springjwtauthentication.dto;
+
+import java.util.List;
+
+public record UserImportResponseDTO(
+        int created,
+        int duplicates,
+        int invalid,
+        List<UserImportResultDTO> results
+) {
+}
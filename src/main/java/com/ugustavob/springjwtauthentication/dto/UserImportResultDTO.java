@@ -0,0 +1,24 @@
+package com.ugustavob.springjwtauthentication.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+public record UserImportResultDTO(
+        @Schema(description = "Zero-based position of the row in the request", example = "0")
+        int index,
+        @Schema(description = "Email of the row", example = "example@gmail.com")
+        String email,
+        @Schema(description = "Outcome of the row", example = "CREATED")
+        Status status,
+        @Schema(description = "Id of the created user")
+        UUID id,
+        @Schema(description = "Why the row was not created", example = "Email already registered")
+        String message
+) {
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+}
@@ -0,0 +1,43 @@
+package com.ugustavob.springjwtauthentication.entities.token;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Either a single revoked access token ({@code jti}) or every access token of a user issued at or
+ * before {@code issuedBefore}. Rows are only kept until {@code expiresAt}, after which no token
+ * they cover can still be valid. {@code createdAt} is set by the database on insert.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevokedTokenEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(length = 64)
+    private String jti;
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "issued_before")
+    private Instant issuedBefore;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private Instant createdAt;
+}
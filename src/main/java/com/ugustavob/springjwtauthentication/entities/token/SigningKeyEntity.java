@@ -0,0 +1,38 @@
+package com.ugustavob.springjwtauthentication.entities.token;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * An ES256 key pair, DER encoded and base64 encoded. The key signs tokens from {@code activatesAt}
+ * until a newer key activates, and is kept for verification until {@code expiresAt}.
+ */
+@Entity
+@Table(name = "signing_keys")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SigningKeyEntity {
+
+    @Id
+    @Column(length = 36)
+    private String kid;
+
+    @Column(name = "public_key", nullable = false, columnDefinition = "text")
+    private String publicKey;
+
+    @Column(name = "private_key", nullable = false, columnDefinition = "text")
+    private String privateKey;
+
+    @Column(name = "activates_at", nullable = false)
+    private Instant activatesAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
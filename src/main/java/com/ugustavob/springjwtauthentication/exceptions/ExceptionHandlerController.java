@@ -1,8 +1,10 @@
 package com.ugustavob.springjwtauthentication.exceptions;
 
+import com.ugustavob.springjwtauthentication.security.PasswordHashingService;
 import org.hibernate.annotations.NotFound;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -56,6 +58,18 @@ public class ExceptionHandlerController {
         return new ResponseEntity<>(new ErrorMessageDTO(e.getMessage(), ""), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<ErrorMessageDTO> handleInvalidRefreshTokenException(InvalidRefreshTokenException e) {
+        return new ResponseEntity<>(new ErrorMessageDTO(e.getMessage(), ""), HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorMessageDTO> handlePasswordHashingBusyException(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingService.RETRY_AFTER_SECONDS))
+                .body(new ErrorMessageDTO(e.getMessage(), ""));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleException(Exception e) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred");
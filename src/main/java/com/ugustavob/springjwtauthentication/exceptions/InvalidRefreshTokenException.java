@@ -0,0 +1,13 @@
+package com.ugustavob.springjwtauthentication.exceptions;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    private static final String defaultMessage = "Invalid refresh token";
+
+    public InvalidRefreshTokenException() {
+        super(defaultMessage);
+    }
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
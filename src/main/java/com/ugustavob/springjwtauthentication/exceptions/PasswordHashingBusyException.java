@@ -0,0 +1,13 @@
+package com.ugustavob.springjwtauthentication.exceptions;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    private static final String defaultMessage = "Server is busy, try again later";
+
+    public PasswordHashingBusyException() {
+        super(defaultMessage);
+    }
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
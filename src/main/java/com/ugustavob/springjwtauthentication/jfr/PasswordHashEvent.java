@@ -0,0 +1,29 @@
+package com.ugustavob.springjwtauthentication.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.ugustavob.springjwtauthentication.PasswordHash")
+@Label("Password Hash")
+@Category({"SpringJWT", "Authentication"})
+@Description("Waiting for and running password hashing on the hashing pool, recorded on the calling thread")
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+    @Label("Operation")
+    @Description("encode or matches")
+    public String operation;
+
+    @Label("Passwords")
+    public int passwords;
+
+    @Label("Queue Depth")
+    @Description("Tasks already waiting when this one was submitted")
+    public int queueDepth;
+
+    @Label("Rejected")
+    public boolean rejected;
+}
@@ -0,0 +1,21 @@
+package com.ugustavob.springjwtauthentication.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.ugustavob.springjwtauthentication.PrincipalLoad")
+@Label("Principal Load")
+@Category({"SpringJWT", "Authentication"})
+@Description("Loading the authenticated user by email for the security filter")
+@StackTrace(false)
+public class PrincipalLoadEvent extends Event {
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Found")
+    public boolean found;
+}
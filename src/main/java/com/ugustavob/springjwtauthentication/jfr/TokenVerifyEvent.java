@@ -0,0 +1,25 @@
+package com.ugustavob.springjwtauthentication.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.ugustavob.springjwtauthentication.TokenVerify")
+@Label("Token Verify")
+@Category({"SpringJWT", "Authentication"})
+@Description("Parsing and verifying an access token")
+@StackTrace(false)
+public class TokenVerifyEvent extends Event {
+    @Label("Outcome")
+    @Description("valid, expired or invalid")
+    public String outcome;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Key Id")
+    public String keyId;
+}
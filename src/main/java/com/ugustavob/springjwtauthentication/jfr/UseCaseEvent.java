@@ -0,0 +1,25 @@
+package com.ugustavob.springjwtauthentication.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.ugustavob.springjwtauthentication.UseCase")
+@Label("Use Case")
+@Category({"SpringJWT", "Use Cases"})
+@Description("One call to a user or role use case")
+@StackTrace(false)
+public class UseCaseEvent extends Event {
+    @Label("Use Case")
+    public String useCase;
+
+    @Label("Rows")
+    @Description("Users returned, created or changed, or -1 when not known")
+    public long rows;
+
+    @Label("Exception")
+    public String exception;
+}
@@ -0,0 +1,65 @@
+package com.ugustavob.springjwtauthentication.jfr;
+
+import com.ugustavob.springjwtauthentication.dto.BulkDeleteResponseDTO;
+import com.ugustavob.springjwtauthentication.dto.BulkRoleResponseDTO;
+import com.ugustavob.springjwtauthentication.dto.GetAllUsersPageResponseDTO;
+import com.ugustavob.springjwtauthentication.dto.UserImportResponseDTO;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Records a {@link UseCaseEvent} around every {@code execute} of the user and role use cases. When
+ * the event is disabled the call goes straight through.
+ */
+@Aspect
+@Component
+public class UseCaseEventAspect {
+
+    @Around("execution(public * com.ugustavob.springjwtauthentication.useCases.user..*.execute(..)) || " +
+            "execution(public * com.ugustavob.springjwtauthentication.useCases.role..*.execute(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        UseCaseEvent event = new UseCaseEvent();
+
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        event.useCase = joinPoint.getSignature().getDeclaringType().getSimpleName();
+
+        try {
+            Object result = joinPoint.proceed();
+            // void use cases act on a single user
+            event.rows = isVoid(joinPoint) ? 1 : rows(result);
+            return result;
+        } catch (Throwable e) {
+            event.rows = -1;
+            event.exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static boolean isVoid(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature() instanceof MethodSignature signature && signature.getReturnType() == void.class;
+    }
+
+    private static long rows(Object result) {
+        return switch (result) {
+            case null -> -1;
+            case Number count -> count.longValue();
+            case Collection<?> collection -> collection.size();
+            case GetAllUsersPageResponseDTO page -> page.users().size();
+            case UserImportResponseDTO importResponse -> importResponse.created();
+            case BulkRoleResponseDTO bulkRole -> bulkRole.updated();
+            case BulkDeleteResponseDTO bulkDelete -> bulkDelete.deleted();
+            default -> 1;
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.ugustavob.springjwtauthentication.repositories.token;
+
+import com.ugustavob.springjwtauthentication.entities.token.RefreshTokenEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, UUID> {
+    @EntityGraph(attributePaths = {"user", "user.role"})
+    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("update RefreshTokenEntity t set t.revoked = true where t.id = :id and t.revoked = false")
+    int revokeIfActive(@Param("id") UUID id);
+
+    @Modifying
+    @Query("update RefreshTokenEntity t set t.revoked = true where t.familyId = :familyId and t.revoked = false")
+    int revokeFamily(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("update RefreshTokenEntity t set t.revoked = true where t.user.id = :userId and t.revoked = false")
+    int revokeAllForUser(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("delete from RefreshTokenEntity t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
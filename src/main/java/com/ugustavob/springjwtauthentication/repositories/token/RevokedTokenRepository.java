@@ -0,0 +1,21 @@
+package com.ugustavob.springjwtauthentication.repositories.token;
+
+import com.ugustavob.springjwtauthentication.entities.token.RevokedTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, UUID> {
+    List<RevokedTokenEntity> findByCreatedAtAfterAndExpiresAtAfter(Instant createdAfter, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedTokenEntity t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
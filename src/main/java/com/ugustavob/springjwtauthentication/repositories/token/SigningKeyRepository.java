@@ -0,0 +1,20 @@
+package com.ugustavob.springjwtauthentication.repositories.token;
+
+import com.ugustavob.springjwtauthentication.entities.token.SigningKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SigningKeyRepository extends JpaRepository<SigningKeyEntity, String> {
+    List<SigningKeyEntity> findByExpiresAtAfterOrderByActivatesAtDesc(Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from SigningKeyEntity k where k.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
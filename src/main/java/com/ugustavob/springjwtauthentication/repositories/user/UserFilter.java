@@ -0,0 +1,63 @@
+package com.ugustavob.springjwtauthentication.repositories.user;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Condition over {@code users u} built from a list of ids and/or filters, shared by the set-based
+ * bulk statements. Parameters are bound in the order the conditions appear.
+ */
+public record UserFilter(String condition, List<Object> parameters) {
+    public static UserFilter of(List<UUID> userIds, String withRole, String emailDomain) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+
+        if (userIds != null && !userIds.isEmpty()) {
+            conditions.add("u.id = any(?)");
+            parameters.add(userIds.toArray(UUID[]::new));
+        }
+
+        if (withRole != null && !withRole.isBlank()) {
+            conditions.add("exists (select 1 from roles f where f.user_id = u.id and f.role = ?)");
+            parameters.add(normalizeRole(withRole));
+        }
+
+        if (emailDomain != null && !emailDomain.isBlank()) {
+            conditions.add("lower(u.email) like ? escape '\\'");
+            parameters.add("%@" + escapeLike(emailDomain.trim().toLowerCase(Locale.ROOT)));
+        }
+
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("Either userIds or a filter is required");
+        }
+
+        return new UserFilter(String.join(" and ", conditions), List.copyOf(parameters));
+    }
+
+    /**
+     * Binds the parameters starting at {@code index} and returns the next free index.
+     */
+    public int bind(PreparedStatement ps, int index) throws SQLException {
+        for (Object parameter : parameters) {
+            if (parameter instanceof UUID[] ids) {
+                ps.setArray(index++, ps.getConnection().createArrayOf("uuid", ids));
+            } else {
+                ps.setObject(index++, parameter);
+            }
+        }
+        return index;
+    }
+
+    public static String normalizeRole(String role) {
+        String upper = role.trim().toUpperCase(Locale.ROOT);
+        return upper.startsWith("ROLE_") ? upper : "ROLE_" + upper;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,24 +1,53 @@
 package com.ugustavob.springjwtauthentication.repositories.user;
 
 import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 
 public interface UserRepository extends JpaRepository<UserEntity, String> {
+    @EntityGraph(attributePaths = "role")
     Optional<UserEntity> findById(UUID id);
-    Optional<UserEntity> findByEmail(String email);
+
+    @EntityGraph(attributePaths = "role")
+    @Query("select u from UserEntity u where lower(u.email) = lower(:email)")
+    Optional<UserEntity> findByEmail(@Param("email") String email);
+
     void deleteById(UUID id);
 
-    default Optional<UserEntity> deleteByIdAndReturnEntity(UUID uuid) {
-        Optional<UserEntity> user = findById(uuid);
+    boolean existsById(UUID id);
+
+    @Query("select u.tokenVersion from UserEntity u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") UUID id);
+
+    @Query("select u.version from UserEntity u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Query("select lower(u.email) from UserEntity u where lower(u.email) in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> lowerCaseEmails);
+
+    @Query("select u.id as id, u.name as name, u.email as email from UserEntity u order by u.id limit :limit")
+    List<UserSummaryView> findSummaryPage(@Param("limit") int limit);
+
+    @Query("select u.id as id, u.name as name, u.email as email from UserEntity u where u.id > :after " +
+            "order by u.id limit :limit")
+    List<UserSummaryView> findSummaryPageAfter(@Param("after") UUID after, @Param("limit") int limit);
+
+    @Query(value = "select md5(coalesce(string_agg(id::text || ':' || version, ',' order by id), '')) " +
+            "from (select id, version from users order by id limit :limit) p", nativeQuery = true)
+    String findPageFingerprint(@Param("limit") int limit);
+
+    @Query(value = "select md5(coalesce(string_agg(id::text || ':' || version, ',' order by id), '')) " +
+            "from (select id, version from users where id > :after order by id limit :limit) p", nativeQuery = true)
+    String findPageFingerprintAfter(@Param("after") UUID after, @Param("limit") int limit);
 
-        if (user.isPresent()) {
-            deleteById(uuid);
-            return user;
-        }
-        return Optional.empty();
-    }
+    @Query("select u.id as userId, r as role from UserEntity u join u.role r where u.id in :userIds")
+    List<UserRoleView> findRolesByUserIds(@Param("userIds") Collection<UUID> userIds);
 }
@@ -0,0 +1,8 @@
+package com.ugustavob.springjwtauthentication.repositories.user;
+
+import java.util.UUID;
+
+public interface UserRoleView {
+    UUID getUserId();
+    String getRole();
+}
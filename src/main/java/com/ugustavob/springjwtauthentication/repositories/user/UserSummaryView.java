@@ -0,0 +1,9 @@
+package com.ugustavob.springjwtauthentication.repositories.user;
+
+import java.util.UUID;
+
+public interface UserSummaryView {
+    UUID getId();
+    String getName();
+    String getEmail();
+}
@@ -0,0 +1,21 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+
+import java.util.Set;
+import java.util.UUID;
+
+public record CachedUser(
+        UUID id,
+        String email,
+        String password,
+        Set<String> roles
+) {
+    public static CachedUser from(UserEntity user) {
+        return new CachedUser(user.getId(), user.getEmail(), user.getPassword(), Set.copyOf(user.getRole()));
+    }
+
+    public UserPrincipal toPrincipal() {
+        return new UserPrincipal(id, email, roles);
+    }
+}
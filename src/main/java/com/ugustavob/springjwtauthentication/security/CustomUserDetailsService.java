@@ -1,7 +1,5 @@
 package com.ugustavob.springjwtauthentication.security;
 
-import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
-import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,18 +12,18 @@ import java.util.ArrayList;
 @Component
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public CustomUserDetailsService(UserPrincipalCache userPrincipalCache) {
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserEntity user = userRepository.findByEmail(username).orElseThrow(() -> new UsernameNotFoundException("User " +
+        CachedUser user = userPrincipalCache.findByEmail(username).orElseThrow(() -> new UsernameNotFoundException("User " +
                 "not found"));
-        return new User(user.getEmail(), user.getPassword(),
+        return new User(user.email(), user.password(),
                 new ArrayList<>());
     }
 }
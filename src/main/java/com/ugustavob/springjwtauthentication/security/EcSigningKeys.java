@@ -0,0 +1,214 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.ugustavob.springjwtauthentication.entities.token.SigningKeyEntity;
+import com.ugustavob.springjwtauthentication.repositories.token.SigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ES256 keys stored in {@code signing_keys} and shared by every instance. A new key is generated
+ * {@code publishAhead} before it starts signing, so it is already in the JWKS document when the first
+ * token signed with it reaches a downstream service. Retired keys keep verifying for {@code overlap},
+ * which must be at least the access token lifetime.
+ *
+ * <p>Keys are reloaded on a schedule and whenever a token names an unknown {@code kid} (at most once
+ * per {@code reloadMinInterval}), so keys generated by another instance are picked up quickly.
+ */
+@Slf4j
+public class EcSigningKeys implements SigningKeys {
+    private static final String CURVE = "secp256r1";
+    private static final int COORDINATE_BYTES = 32;
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final Duration rotationInterval;
+    private final Duration overlap;
+    private final Duration publishAhead;
+    private final long reloadMinIntervalNanos;
+    private final AtomicLong lastReload = new AtomicLong(System.nanoTime());
+
+    private volatile KeySet keySet = new KeySet(List.of(), Map.of(), List.of());
+
+    public EcSigningKeys(SigningKeyRepository signingKeyRepository, Duration rotationInterval, Duration overlap,
+                         Duration publishAhead, Duration reloadMinInterval) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.rotationInterval = rotationInterval;
+        this.overlap = overlap;
+        this.publishAhead = publishAhead;
+        this.reloadMinIntervalNanos = reloadMinInterval.toNanos();
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${api.security.token.signing.refresh-interval:PT1M}",
+            initialDelayString = "${api.security.token.signing.refresh-interval:PT1M}")
+    public void refresh() {
+        Instant now = Instant.now();
+        List<SigningKeyEntity> keys = signingKeyRepository.findByExpiresAtAfterOrderByActivatesAtDesc(now);
+        SigningKeyEntity newest = keys.isEmpty() ? null : keys.get(0);
+
+        if (newest == null || !newest.getActivatesAt().plus(rotationInterval).isAfter(now.plus(publishAhead))) {
+            Instant activatesAt = newest == null ? now : max(newest.getActivatesAt().plus(rotationInterval),
+                    now.plus(publishAhead));
+            this.generate(activatesAt);
+            keys = signingKeyRepository.findByExpiresAtAfterOrderByActivatesAtDesc(now);
+        }
+
+        this.keySet = KeySet.of(keys);
+        signingKeyRepository.deleteExpired(now);
+    }
+
+    @Override
+    public SigningKey current() {
+        List<ActiveKey> keys = keySet.keys();
+        Instant now = Instant.now();
+
+        for (ActiveKey key : keys) {
+            if (!key.activatesAt().isAfter(now)) {
+                return key.signingKey();
+            }
+        }
+
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("No signing key available");
+        }
+        return keys.get(keys.size() - 1).signingKey();
+    }
+
+    @Override
+    public JWTVerifier verifier(String kid) {
+        if (kid == null) {
+            return null;
+        }
+
+        JWTVerifier verifier = keySet.verifiers().get(kid);
+
+        if (verifier == null && this.tryStartReload()) {
+            this.keySet = KeySet.of(signingKeyRepository.findByExpiresAtAfterOrderByActivatesAtDesc(Instant.now()));
+            verifier = keySet.verifiers().get(kid);
+        }
+        return verifier;
+    }
+
+    @Override
+    public List<Map<String, Object>> jwks() {
+        return keySet.jwks();
+    }
+
+    private boolean tryStartReload() {
+        long last = lastReload.get();
+        long now = System.nanoTime();
+        return now - last >= reloadMinIntervalNanos && lastReload.compareAndSet(last, now);
+    }
+
+    private void generate(Instant activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec(CURVE));
+            KeyPair keyPair = generator.generateKeyPair();
+
+            Base64.Encoder encoder = Base64.getEncoder();
+            SigningKeyEntity key = new SigningKeyEntity(
+                    UUID.randomUUID().toString(),
+                    encoder.encodeToString(keyPair.getPublic().getEncoded()),
+                    encoder.encodeToString(keyPair.getPrivate().getEncoded()),
+                    activatesAt,
+                    activatesAt.plus(rotationInterval).plus(overlap)
+            );
+            signingKeyRepository.save(key);
+            log.info("Generated signing key {} active from {}", key.getKid(), activatesAt);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate signing key", e);
+        }
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private record ActiveKey(Instant activatesAt, SigningKey signingKey) {
+    }
+
+    private record KeySet(List<ActiveKey> keys, Map<String, JWTVerifier> verifiers, List<Map<String, Object>> jwks) {
+        static KeySet of(List<SigningKeyEntity> entities) {
+            List<ActiveKey> keys = new ArrayList<>(entities.size());
+            Map<String, JWTVerifier> verifiers = new HashMap<>();
+            List<Map<String, Object>> jwks = new ArrayList<>(entities.size());
+
+            for (SigningKeyEntity entity : entities) {
+                ECPublicKey publicKey = decodePublicKey(entity.getPublicKey());
+                ECPrivateKey privateKey = decodePrivateKey(entity.getPrivateKey());
+
+                keys.add(new ActiveKey(entity.getActivatesAt(),
+                        new SigningKey(entity.getKid(), Algorithm.ECDSA256(publicKey, privateKey))));
+                verifiers.put(entity.getKid(), JWT.require(Algorithm.ECDSA256(publicKey))
+                        .withIssuer(TokenService.ISSUER)
+                        .build());
+                jwks.add(toJwk(entity.getKid(), publicKey));
+            }
+
+            return new KeySet(List.copyOf(keys), Map.copyOf(verifiers), List.copyOf(jwks));
+        }
+    }
+
+    private static ECPublicKey decodePublicKey(String encoded) {
+        try {
+            return (ECPublicKey) KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid signing public key", e);
+        }
+    }
+
+    private static ECPrivateKey decodePrivateKey(String encoded) {
+        try {
+            return (ECPrivateKey) KeyFactory.getInstance("EC")
+                    .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid signing private key", e);
+        }
+    }
+
+    private static Map<String, Object> toJwk(String kid, ECPublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("kid", kid);
+        jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+        return jwk;
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] padded = new byte[COORDINATE_BYTES];
+        int length = Math.min(bytes.length, COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, padded, COORDINATE_BYTES - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+    }
+}
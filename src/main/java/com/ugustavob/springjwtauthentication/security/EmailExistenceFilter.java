@@ -0,0 +1,194 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom filter of registered emails. {@link #mightContain(String)} returning {@code false}
+ * means the email is definitely not registered, so callers can skip the database lookup. Until
+ * the filter has been warmed from the users table it answers {@code true} for everything.
+ *
+ * <p>Counters are 4 bits wide, packed 16 per long and updated with CAS. A saturated counter is
+ * never decremented, so removals can only leave false positives, never false negatives.
+ *
+ * <p>Users created or changed through another instance are only known here after the next sync
+ * of recently updated rows, so with several instances a new email can be reported missing for up
+ * to {@code api.security.email-filter.sync-interval}. Rows read again by overlapping syncs are
+ * added twice, which can only add false positives.
+ */
+@Slf4j
+@Component
+public class EmailExistenceFilter {
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long COUNTER_MASK = 0xFL;
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final boolean enabled;
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLongArray counters;
+    private final int size;
+    private final int hashFunctions;
+    private volatile boolean ready;
+    private volatile Instant syncedUpTo = Instant.EPOCH;
+
+    public EmailExistenceFilter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${api.security.email-filter.enabled:false}") boolean enabled,
+            @Value("${api.security.email-filter.expected-emails:1000000}") long expectedEmails,
+            @Value("${api.security.email-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+
+        long bits = (long) Math.ceil(-expectedEmails * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.size = (int) Math.min(Math.max(bits, COUNTERS_PER_WORD), Integer.MAX_VALUE - COUNTERS_PER_WORD);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) size / expectedEmails * Math.log(2)));
+        this.counters = new AtomicLongArray(enabled ? (size + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD : 0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long loaded = this.load("select email, updated_at from users");
+
+        ready = true;
+        log.info("Email existence filter warmed with {} emails in {} ms", loaded, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds the emails of users created or updated since the newest {@code updated_at} already seen,
+     * including those written by other instances. The window reaches back {@link #SYNC_OVERLAP} to
+     * cover late commits and clock differences between instances.
+     */
+    @Scheduled(fixedDelayString = "${api.security.email-filter.sync-interval:PT30S}")
+    public void syncRecent() {
+        if (!enabled || !ready) {
+            return;
+        }
+
+        this.load("select email, updated_at from users where updated_at > ?",
+                Timestamp.from(syncedUpTo.minus(SYNC_OVERLAP)));
+    }
+
+    public boolean mightContain(String email) {
+        if (!enabled || !ready || email == null) {
+            return true;
+        }
+
+        long[] hashes = hash(email);
+
+        for (int i = 0; i < hashFunctions; i++) {
+            if (this.counter(this.index(hashes, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+
+        long[] hashes = hash(email);
+
+        for (int i = 0; i < hashFunctions; i++) {
+            this.update(this.index(hashes, i), 1);
+        }
+    }
+
+    /**
+     * Only emails that were added to this filter may be removed, otherwise counters shared with other
+     * emails would drop to zero. Removal is skipped until warm-up has finished for the same reason.
+     */
+    public void remove(String email) {
+        if (!enabled || !ready || email == null || !this.mightContain(email)) {
+            return;
+        }
+
+        long[] hashes = hash(email);
+
+        for (int i = 0; i < hashFunctions; i++) {
+            this.update(this.index(hashes, i), -1);
+        }
+    }
+
+    private long load(String sql, Object... args) {
+        long[] loaded = {0};
+        RowCallbackHandler handler = rs -> {
+            this.add(rs.getString(1));
+            Timestamp updatedAt = rs.getTimestamp(2);
+
+            if (updatedAt != null && updatedAt.toInstant().isAfter(syncedUpTo)) {
+                syncedUpTo = updatedAt.toInstant();
+            }
+            loaded[0]++;
+        };
+
+        jdbcTemplate.query(sql, handler, args);
+        return loaded[0];
+    }
+
+    private int index(long[] hashes, int i) {
+        return (int) Math.floorMod(hashes[0] + i * hashes[1], (long) size);
+    }
+
+    private long counter(int index) {
+        int shift = (index % COUNTERS_PER_WORD) * 4;
+        return (counters.get(index / COUNTERS_PER_WORD) >>> shift) & COUNTER_MASK;
+    }
+
+    private void update(int index, int delta) {
+        int word = index / COUNTERS_PER_WORD;
+        int shift = (index % COUNTERS_PER_WORD) * 4;
+
+        while (true) {
+            long current = counters.get(word);
+            long counter = (current >>> shift) & COUNTER_MASK;
+
+            if (counter == COUNTER_MASK || (delta < 0 && counter == 0)) {
+                return;
+            }
+
+            long next = delta > 0 ? current + (1L << shift) : current - (1L << shift);
+
+            if (counters.compareAndSet(word, current, next)) {
+                return;
+            }
+        }
+    }
+
+    private static long[] hash(String email) {
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        long h = 0xcbf29ce484222325L;
+
+        for (int i = 0; i < normalized.length(); i++) {
+            h ^= normalized.charAt(i);
+            h *= 0x100000001b3L;
+        }
+
+        return new long[]{mix(h), mix(h ^ 0x9e3779b97f4a7c15L) | 1};
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
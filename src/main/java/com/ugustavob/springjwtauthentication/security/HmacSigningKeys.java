@@ -0,0 +1,40 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single shared HS256 secret. Tokens carry no {@code kid} and nothing is published, since the key
+ * cannot be handed out without letting the holder issue tokens too.
+ */
+public class HmacSigningKeys implements SigningKeys {
+    private final SigningKey signingKey;
+    private final JWTVerifier verifier;
+
+    public HmacSigningKeys(String secret) {
+        Algorithm algorithm = Algorithm.HMAC256(secret);
+        this.signingKey = new SigningKey(null, algorithm);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(TokenService.ISSUER)
+                .build();
+    }
+
+    @Override
+    public SigningKey current() {
+        return signingKey;
+    }
+
+    @Override
+    public JWTVerifier verifier(String kid) {
+        return kid == null ? verifier : null;
+    }
+
+    @Override
+    public List<Map<String, Object>> jwks() {
+        return List.of();
+    }
+}
@@ -0,0 +1,128 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory token buckets keyed by client IP and by email, checked before /auth/login and
+ * /auth/register do any database or hashing work. Buckets are updated with CAS, and idle keys are
+ * evicted after {@code idle-timeout}.
+ */
+@Component
+public class LoginThrottle {
+    private final boolean enabled;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final int ipCapacity;
+    private final double ipRefillPerNano;
+    private final int emailCapacity;
+    private final double emailRefillPerNano;
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${api.security.throttle.enabled:true}") boolean enabled,
+            @Value("${api.security.throttle.ip.capacity:30}") int ipCapacity,
+            @Value("${api.security.throttle.ip.refill-period:2s}") Duration ipRefillPeriod,
+            @Value("${api.security.throttle.email.capacity:5}") int emailCapacity,
+            @Value("${api.security.throttle.email.refill-period:12s}") Duration emailRefillPeriod,
+            @Value("${api.security.throttle.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${api.security.throttle.max-keys:100000}") long maxKeys
+    ) {
+        this.enabled = enabled;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerNano = 1.0 / ipRefillPeriod.toNanos();
+        this.emailCapacity = emailCapacity;
+        this.emailRefillPerNano = 1.0 / emailRefillPeriod.toNanos();
+        this.ipBuckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.emailBuckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+
+        FunctionCounter.builder("auth.throttle.rejected", this, LoginThrottle::rejectedByIp)
+                .description("Login and register attempts rejected by the throttle")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.throttle.rejected", this, LoginThrottle::rejectedByEmail)
+                .description("Login and register attempts rejected by the throttle")
+                .tag("key", "email")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire(String email, String clientIp) {
+        if (!enabled) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+
+        if (clientIp != null && !ipBuckets.get(clientIp, key -> new TokenBucket(ipCapacity, ipRefillPerNano, now))
+                .tryConsume(now)) {
+            rejectedByIp.increment();
+            return false;
+        }
+
+        if (email != null) {
+            String key = email.trim().toLowerCase(Locale.ROOT);
+
+            if (!emailBuckets.get(key, k -> new TokenBucket(emailCapacity, emailRefillPerNano, now)).tryConsume(now)) {
+                rejectedByEmail.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long rejectedByIp() {
+        return rejectedByIp.sum();
+    }
+
+    public long rejectedByEmail() {
+        return rejectedByEmail.sum();
+    }
+
+    private static final class TokenBucket {
+        private record State(double tokens, long timestamp) {
+        }
+
+        private final int capacity;
+        private final double refillPerNano;
+        private final AtomicReference<State> state;
+
+        private TokenBucket(int capacity, double refillPerNano, long now) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerNano;
+            this.state = new AtomicReference<>(new State(capacity, now));
+        }
+
+        private boolean tryConsume(long now) {
+            while (true) {
+                State current = state.get();
+                long elapsed = Math.max(0, now - current.timestamp());
+                double tokens = Math.min(capacity, current.tokens() + elapsed * refillPerNano);
+
+                if (tokens < 1) {
+                    return false;
+                }
+
+                if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.timestamp())))) {
+                    return true;
+                }
+            }
+        }
+    }
+}
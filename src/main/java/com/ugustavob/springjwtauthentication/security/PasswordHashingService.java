@@ -0,0 +1,224 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.ugustavob.springjwtauthentication.exceptions.PasswordHashingBusyException;
+import com.ugustavob.springjwtauthentication.jfr.PasswordHashEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password hashing and verification on a dedicated, bounded pool so bcrypt bursts cannot take
+ * over the request threads. When the queue is full callers fail fast with
+ * {@link PasswordHashingBusyException}.
+ */
+public class PasswordHashingService {
+    public static final int RETRY_AFTER_SECONDS = 1;
+
+    private static final String ENCODE = "encode";
+    private static final String MATCHES = "matches";
+
+    private final PasswordEncoder passwordEncoder;
+    private final String dummyHash;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final LongAdder rejectedCount = new LongAdder();
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, int threads, int queueCapacity,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        this.threads = threads;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = hashTimer(meterRegistry, ENCODE);
+        this.matchesTimer = hashTimer(meterRegistry, MATCHES);
+
+        Gauge.builder("auth.password.queue", this, PasswordHashingService::queueDepth)
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", this, PasswordHashingService::activeCount)
+                .description("Password hashing threads busy")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.password.rejected", this, PasswordHashingService::rejectedCount)
+                .description("Password hashing requests rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return this.submit(ENCODE, encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hashes a batch on every pool thread. At most one task per thread is queued at a time, so
+     * logins submitted meanwhile wait behind a single hash rather than the whole batch. When the
+     * queue is full the hash runs on the calling thread instead of failing.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        Semaphore inFlight = new Semaphore(threads);
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        int queueDepth = event.isEnabled() ? this.queueDepth() : 0;
+
+        try {
+            for (String rawPassword : rawPasswords) {
+                inFlight.acquire();
+                futures.add(this.submitOrRun(encodeTimer, () -> {
+                    try {
+                        return passwordEncoder.encode(rawPassword);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            List<String> hashes = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                hashes.add(future.get());
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error while hashing passwords", e.getCause());
+        } finally {
+            commit(event, ENCODE, rawPasswords.size(), queueDepth, false);
+        }
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return this.submit(MATCHES, matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Spends the same hashing time as {@link #matches(String, String)} without a stored hash, so a
+     * login for an unknown email takes as long as one with a wrong password.
+     */
+    public void simulateMatch(String rawPassword) {
+        this.matches(rawPassword, dummyHash);
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public PasswordEncoder getPasswordEncoder() {
+        return passwordEncoder;
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(String operation, Timer timer, Callable<T> task) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        int queueDepth = event.isEnabled() ? this.queueDepth() : 0;
+        boolean rejected = false;
+
+        try {
+            Future<T> future;
+
+            try {
+                future = executor.submit(() -> timer.recordCallable(task));
+            } catch (RejectedExecutionException e) {
+                rejected = true;
+                rejectedCount.increment();
+                throw new PasswordHashingBusyException();
+            }
+
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while hashing password", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Error while hashing password", e.getCause());
+            }
+        } finally {
+            commit(event, operation, 1, queueDepth, rejected);
+        }
+    }
+
+    private <T> Future<T> submitOrRun(Timer timer, Callable<T> task) {
+        try {
+            return executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            FutureTask<T> future = new FutureTask<>(() -> timer.recordCallable(task));
+            future.run();
+            return future;
+        }
+    }
+
+    private static void commit(PasswordHashEvent event, String operation, int passwords, int queueDepth,
+                               boolean rejected) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.passwords = passwords;
+            event.queueDepth = queueDepth;
+            event.rejected = rejected;
+            event.commit();
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("Time spent in the password encoder")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
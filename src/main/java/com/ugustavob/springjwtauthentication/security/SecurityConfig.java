@@ -1,6 +1,9 @@
 package com.ugustavob.springjwtauthentication.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,11 +13,14 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -25,34 +31,93 @@ public class SecurityConfig {
         this.securityFilter = securityFilter;
     }
 
+    private static final String BCRYPT_ID = "bcrypt";
+
+    private static final String ADMIN = "ADMIN";
+
     private static final String[] SWAGGER_UI_PATHS = {
             "/swagger-ui/**",
             "/v3/api-docs/**",
             "/swagger-resources/**",
     };
 
+    private static final String[] ACTUATOR_PATHS = {
+            "/actuator/health/**",
+    };
+
+    /**
+     * Admin-only routes, checked against the authorities {@link SecurityFilter} already put on the
+     * authentication so the caller is not loaded again and forbidden calls never reach a controller.
+     */
+    private static final String[] ADMIN_GET_PATHS = {
+            "/users/",
+            "/users/export",
+            "/actuator/prometheus",
+    };
+
+    private static final String[] ADMIN_POST_PATHS = {
+            "/users/import",
+            "/users/delete",
+            "/users/*/roles",
+            "/users/roles/grant",
+            "/users/roles/revoke",
+            "/users/*/sessions/revoke",
+    };
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // Async dispatches (the streaming export) were authorized on the original request,
+                        // and SecurityFilter does not run again to restore the authentication for them
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/register").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/refresh").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                         .requestMatchers(SWAGGER_UI_PATHS).permitAll()
+                        .requestMatchers(HttpMethod.GET, ACTUATOR_PATHS).permitAll()
+                        .requestMatchers(HttpMethod.GET, ADMIN_GET_PATHS).hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, ADMIN_POST_PATHS).hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.DELETE, "/users/*").hasRole(ADMIN)
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(exceptionHandling -> exceptionHandling
                         .authenticationEntryPoint((request, response, authException) -> {
                             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized");
+                        })
+                        .accessDeniedHandler((request, response, accessDeniedException) -> {
+                            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Forbidden");
                         }))
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${api.security.hashing.latency-budget:50ms}") Duration latencyBudget,
+            @Value("${api.security.hashing.min-strength:10}") int minStrength,
+            @Value("${api.security.hashing.max-strength:16}") int maxStrength
+    ) {
+        CalibratedBCryptPasswordEncoder bcrypt = CalibratedBCryptPasswordEncoder.calibrate(latencyBudget, minStrength,
+                maxStrength);
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
+    }
+
+    @Bean
+    public PasswordHashingService passwordHashingService(
+            PasswordEncoder passwordEncoder,
+            @Value("${api.security.hashing.threads:0}") int threads,
+            @Value("${api.security.hashing.queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new PasswordHashingService(passwordEncoder, poolSize, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -1,51 +1,61 @@
 package com.ugustavob.springjwtauthentication.security;
 
-import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
-import com.ugustavob.springjwtauthentication.exceptions.UserNotFoundException;
-import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class SecurityFilter extends OncePerRequestFilter {
     private final TokenService tokenService;
-    private final UserRepository userRepository;
+    private final TokenVersionStore tokenVersionStore;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoverToken(request);
-        var login = tokenService.validateToken(token);
+        DecodedJWT decodedJWT = tokenService.verify(token);
 
-        UserEntity user = userRepository.findByEmail(login).orElse(null);
+        if (decodedJWT != null && !tokenRevocationList.isRevoked(decodedJWT.getId(), decodedJWT.getExpiresAtAsInstant())) {
+            UserPrincipal principal = this.loadPrincipal(decodedJWT);
 
-        if(login != null && user != null){
-            var authorities = user.getRole().stream()
-                            .map(SimpleGrantedAuthority::new)
-                                    .collect(Collectors.toList());
-
-            request.setAttribute("id", user.getId());
-            var authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (principal != null && !tokenRevocationList.isUserRevoked(principal.id(), tokenService.issuedAt(decodedJWT))) {
+                request.setAttribute("id", principal.id());
+                request.setAttribute("jwt", decodedJWT);
+                var authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
 
+    private UserPrincipal loadPrincipal(DecodedJWT decodedJWT) {
+        if (tokenService.isStatelessPrincipal()) {
+            UserPrincipal principal = tokenService.toPrincipal(decodedJWT);
+
+            if (principal != null && tokenVersionStore.isCurrent(principal.id(), tokenService.tokenVersion(decodedJWT))) {
+                return principal;
+            }
+        }
+
+        return userPrincipalCache.findByEmail(decodedJWT.getSubject())
+                .map(CachedUser::toPrincipal)
+                .orElse(null);
+    }
+
     private String recoverToken(HttpServletRequest request){
         var authHeader = request.getHeader("Authorization");
         if(authHeader == null) return null;
         return authHeader.replace("Bearer ", "");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source of the key used to sign new access tokens and of the verifiers for every key whose tokens
+ * may still be valid, looked up by the token's {@code kid} header.
+ */
+public interface SigningKeys {
+    SigningKey current();
+
+    /**
+     * Returns the verifier for {@code kid}, or {@code null} when no such key is known.
+     */
+    JWTVerifier verifier(String kid);
+
+    /**
+     * Public keys as JSON Web Keys, for publishing at {@code /.well-known/jwks.json}.
+     */
+    List<Map<String, Object>> jwks();
+
+    record SigningKey(String kid, Algorithm algorithm) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.ugustavob.springjwtauthentication.entities.token.RevokedTokenEntity;
+import com.ugustavob.springjwtauthentication.repositories.token.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of {@code revoked_tokens}. Revoked token ids are grouped in one-minute buckets by
+ * the token's expiry, so a check is a single bucket and set lookup, and a bucket is dropped
+ * whole once every token in it has expired. Per-user revocations hold a cut-off from
+ * {@link #cutOff()}: every token of that user issued at or before it is rejected. Rows written by
+ * other instances are picked up on the next sync, at most a minute later.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+    private static final long BUCKET_SECONDS = 60;
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(BUCKET_SECONDS);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Map<Long, Set<String>> revokedIds = new ConcurrentHashMap<>();
+    private final Map<UUID, RevokedTokenEntity> revokedUsers = new ConcurrentHashMap<>();
+    private volatile Instant syncedUpTo = Instant.EPOCH;
+
+    @PostConstruct
+    public void load() {
+        log.info("Loaded {} token revocations", this.sync());
+    }
+
+    /**
+     * The current instant at the millisecond precision of the issue time carried by access tokens,
+     * so a token minted after the revocation is never cut off by a rounded-up boundary.
+     */
+    public static Instant cutOff() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        RevokedTokenEntity revocation = revokedTokenRepository.save(new RevokedTokenEntity(null, jti, null, null,
+                expiresAt, null));
+        this.apply(revocation);
+    }
+
+    public void revokeUser(UUID userId, Instant issuedBefore, Instant expiresAt) {
+        RevokedTokenEntity revocation = revokedTokenRepository.save(new RevokedTokenEntity(null, null, userId,
+                issuedBefore, expiresAt, null));
+        this.apply(revocation);
+    }
+
+    /**
+     * Applies per-user revocations whose rows the caller already inserted, in the same statement
+     * that changed the users.
+     */
+    public void applyUserRevocations(Collection<UUID> userIds, Instant issuedBefore, Instant expiresAt) {
+        userIds.forEach(userId -> this.apply(new RevokedTokenEntity(null, null, userId, issuedBefore, expiresAt,
+                null)));
+    }
+
+    public boolean isRevoked(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return false;
+        }
+
+        Set<String> bucket = revokedIds.get(bucket(expiresAt));
+        return bucket != null && bucket.contains(jti);
+    }
+
+    public boolean isUserRevoked(UUID userId, Instant issuedAt) {
+        RevokedTokenEntity revocation = revokedUsers.get(userId);
+        return revocation != null && (issuedAt == null || !issuedAt.isAfter(revocation.getIssuedBefore()));
+    }
+
+    @Scheduled(fixedDelay = BUCKET_SECONDS * 1000)
+    public void purgeExpired() {
+        this.sync();
+
+        Instant now = Instant.now();
+        long currentBucket = bucket(now);
+
+        revokedIds.keySet().removeIf(bucket -> bucket < currentBucket);
+        revokedUsers.values().removeIf(revocation -> revocation.getExpiresAt().isBefore(now));
+        revokedTokenRepository.deleteExpired(now);
+    }
+
+    /**
+     * Applies the unexpired rows created since the newest one already seen, including rows written
+     * by other instances. The window reaches back {@link #SYNC_OVERLAP} so a row whose transaction
+     * committed after a newer row was read is not missed; applying a row twice is harmless.
+     */
+    private int sync() {
+        var revocations = revokedTokenRepository.findByCreatedAtAfterAndExpiresAtAfter(
+                syncedUpTo.minus(SYNC_OVERLAP), Instant.now());
+        revocations.forEach(this::apply);
+
+        revocations.stream()
+                .map(RevokedTokenEntity::getCreatedAt)
+                .filter(createdAt -> createdAt != null && createdAt.isAfter(syncedUpTo))
+                .max(Comparator.naturalOrder())
+                .ifPresent(createdAt -> syncedUpTo = createdAt);
+        return revocations.size();
+    }
+
+    private void apply(RevokedTokenEntity revocation) {
+        if (revocation.getJti() != null) {
+            revokedIds.computeIfAbsent(bucket(revocation.getExpiresAt()), key -> ConcurrentHashMap.newKeySet())
+                    .add(revocation.getJti());
+        }
+
+        if (revocation.getUserId() != null) {
+            revokedUsers.merge(revocation.getUserId(), revocation,
+                    (current, next) -> next.getIssuedBefore().isAfter(current.getIssuedBefore()) ? next : current);
+        }
+    }
+
+    private static long bucket(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), BUCKET_SECONDS);
+    }
+}
@@ -1,51 +1,254 @@
 package com.ugustavob.springjwtauthentication.security;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.jfr.TokenVerifyEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TokenService {
+    public static final String ISSUER = "auth0";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String VERSION_CLAIM = "ver";
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+    private static final String VALID = "valid";
+    private static final String EXPIRED = "expired";
+    private static final String INVALID = "invalid";
 
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final SigningKeys signingKeys;
+    private final Cache<String, DecodedJWT> verifiedTokens;
+    private final boolean statelessPrincipal;
+    private final Duration accessTokenTtl;
+    private final Timer validCachedTimer;
+    private final Timer validTimer;
+    private final Timer expiredTimer;
+    private final Timer invalidTimer;
+
+    public TokenService(
+            SigningKeys signingKeys,
+            MeterRegistry meterRegistry,
+            @Value("${api.security.token.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${api.security.token.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${api.security.token.stateless-principal:false}") boolean statelessPrincipal,
+            @Value("${api.security.token.access-ttl:15m}") Duration accessTokenTtl
+    ) {
+        this.signingKeys = signingKeys;
+        this.verifiedTokens = cacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaxSize)
+                        .expireAfter(new TokenExpiry())
+                        .build()
+                : null;
+        this.statelessPrincipal = statelessPrincipal;
+        this.accessTokenTtl = accessTokenTtl;
+        this.validCachedTimer = verifyTimer(meterRegistry, VALID, "hit");
+        this.validTimer = verifyTimer(meterRegistry, VALID, "miss");
+        this.expiredTimer = verifyTimer(meterRegistry, EXPIRED, "miss");
+        this.invalidTimer = verifyTimer(meterRegistry, INVALID, "miss");
+    }
+
+    public boolean isStatelessPrincipal() {
+        return statelessPrincipal;
+    }
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
 
     public String generateToken(UserEntity user) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-
-            return JWT.create()
-                    .withIssuer("auth0")
+            SigningKeys.SigningKey signingKey = signingKeys.current();
+            Instant now = Instant.now();
+            JWTCreator.Builder builder = JWT.create()
+                    .withIssuer(ISSUER)
+                    .withJWTId(UUID.randomUUID().toString())
                     .withSubject(user.getEmail())
-                    .withExpiresAt(this.generateExpirationDate())
-                    .sign(algorithm);
+                    .withIssuedAt(now)
+                    .withClaim(ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
+                    .withExpiresAt(this.generateExpirationDate());
+
+            if (signingKey.kid() != null) {
+                builder.withKeyId(signingKey.kid());
+            }
+
+            if (statelessPrincipal) {
+                builder.withClaim(USER_ID_CLAIM, user.getId().toString())
+                        .withClaim(ROLES_CLAIM, List.copyOf(user.getRole()))
+                        .withClaim(VERSION_CLAIM, user.getTokenVersion());
+            }
+
+            return builder.sign(signingKey.algorithm());
         } catch (JWTCreationException e) {
             throw new RuntimeException("Error while authenticating user");
         }
     }
 
     public String validateToken(String token) {
+        DecodedJWT decodedJWT = verify(token);
+        return decodedJWT != null ? decodedJWT.getSubject() : null;
+    }
+
+    public DecodedJWT verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        TokenVerifyEvent event = new TokenVerifyEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String key = null;
+
+        if (verifiedTokens != null) {
+            key = digest(token);
+            DecodedJWT cached = verifiedTokens.getIfPresent(key);
+
+            if (cached != null) {
+                validCachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                commit(event, VALID, true, cached);
+                return cached;
+            }
+        }
+
+        DecodedJWT decodedJWT = null;
+        Timer timer = invalidTimer;
+        String outcome = INVALID;
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("auth0")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            decodedJWT = this.verifyUncached(token);
+            if (decodedJWT != null) {
+                timer = validTimer;
+                outcome = VALID;
+            }
+        } catch (TokenExpiredException e) {
+            timer = expiredTimer;
+            outcome = EXPIRED;
         } catch (JWTVerificationException e) {
+            timer = invalidTimer;
+        }
+
+        if (key != null && decodedJWT != null && decodedJWT.getExpiresAtAsInstant() != null) {
+            verifiedTokens.put(key, decodedJWT);
+        }
+
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        commit(event, outcome, false, decodedJWT);
+        return decodedJWT;
+    }
+
+    /**
+     * Builds the principal from the claims embedded by {@link #generateToken(UserEntity)}, or returns
+     * {@code null} when the token does not carry them.
+     */
+    public UserPrincipal toPrincipal(DecodedJWT decodedJWT) {
+        String userId = decodedJWT.getClaim(USER_ID_CLAIM).asString();
+        List<String> roles = decodedJWT.getClaim(ROLES_CLAIM).asList(String.class);
+
+        if (userId == null || roles == null) {
             return null;
         }
+
+        return new UserPrincipal(UUID.fromString(userId), decodedJWT.getSubject(), Set.copyOf(roles));
+    }
+
+    /**
+     * Issue time with millisecond precision, falling back to the whole-second {@code iat} for tokens
+     * issued before it was embedded. {@code null} when the token carries neither.
+     */
+    public Instant issuedAt(DecodedJWT decodedJWT) {
+        Long issuedAtMillis = decodedJWT.getClaim(ISSUED_AT_MILLIS_CLAIM).asLong();
+        return issuedAtMillis != null ? Instant.ofEpochMilli(issuedAtMillis) : decodedJWT.getIssuedAtAsInstant();
+    }
+
+    public int tokenVersion(DecodedJWT decodedJWT) {
+        Integer version = decodedJWT.getClaim(VERSION_CLAIM).asInt();
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Returns {@code null} when no key matches the token's {@code kid}.
+     */
+    private DecodedJWT verifyUncached(String token) {
+        DecodedJWT decodedJWT = JWT.decode(token);
+        JWTVerifier verifier = signingKeys.verifier(decodedJWT.getKeyId());
+        return verifier != null ? verifier.verify(decodedJWT) : null;
+    }
+
+    public static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
     }
 
     private Instant generateExpirationDate() {
-        return LocalDateTime.now().plusHours(1).toInstant(ZoneOffset.of("-03:00"));
+        return Instant.now().plus(accessTokenTtl);
+    }
+
+    private static void commit(TokenVerifyEvent event, String outcome, boolean cacheHit, DecodedJWT decodedJWT) {
+        if (event.shouldCommit()) {
+            event.outcome = outcome;
+            event.cacheHit = cacheHit;
+            event.keyId = decodedJWT != null ? decodedJWT.getKeyId() : null;
+            event.commit();
+        }
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome, String cache) {
+        return Timer.builder("auth.token.verify")
+                .description("Access token verification")
+                .tag("outcome", outcome)
+                .tag("cache", cache)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Expires each cached token no later than its own {@code exp} claim.
+     */
+    private static class TokenExpiry implements Expiry<String, DecodedJWT> {
+        @Override
+        public long expireAfterCreate(String key, DecodedJWT value, long currentTime) {
+            long remainingMillis = value.getExpiresAtAsInstant().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, DecodedJWT value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, DecodedJWT value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,46 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Current {@code users.token_version} per user, used to decide whether the claims embedded in a
+ * token can still be trusted. Missing entries are loaded from the users table, so a restarted node
+ * or another node never trusts a token just because it has not seen the version change; a user
+ * that no longer exists has no current version at all. Entries expire after {@code ttl}, which
+ * bounds how long a change made on another node can go unnoticed here.
+ */
+@Component
+public class TokenVersionStore {
+    private final LoadingCache<UUID, Integer> versions;
+
+    public TokenVersionStore(
+            UserRepository userRepository,
+            @Value("${api.security.token-version.max-size:100000}") long maxSize,
+            @Value("${api.security.token-version.ttl:30s}") Duration ttl
+    ) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(userId -> userRepository.findTokenVersionById(userId).orElse(null));
+    }
+
+    public void update(UUID userId, int version) {
+        versions.asMap().merge(userId, version, Math::max);
+    }
+
+    public void remove(UUID userId) {
+        versions.invalidate(userId);
+    }
+
+    public boolean isCurrent(UUID userId, int version) {
+        Integer current = versions.get(userId);
+        return current != null && version >= current;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public record UserPrincipal(
+        UUID id,
+        String email,
+        Set<String> roles
+) {
+    public static UserPrincipal from(UserEntity user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), Set.copyOf(user.getRole()));
+    }
+
+    public List<SimpleGrantedAuthority> authorities() {
+        return roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ugustavob.springjwtauthentication.jfr.PrincipalLoadEvent;
+import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded email to principal cache in front of {@link UserRepository#findByEmail(String)}.
+ * The user use cases invalidate entries as soon as they change a user.
+ */
+@Component
+public class UserPrincipalCache {
+    private final UserRepository userRepository;
+    private final Cache<String, CachedUser> cache;
+    private final Timer hitTimer;
+    private final Timer missFoundTimer;
+    private final Timer missNotFoundTimer;
+
+    public UserPrincipalCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${api.security.principal-cache.enabled:true}") boolean enabled,
+            @Value("${api.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${api.security.principal-cache.ttl:60s}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.cache = enabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build()
+                : null;
+        this.hitTimer = lookupTimer(meterRegistry, "hit", "found");
+        this.missFoundTimer = lookupTimer(meterRegistry, "miss", "found");
+        this.missNotFoundTimer = lookupTimer(meterRegistry, "miss", "not_found");
+
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "principal");
+        }
+    }
+
+    public Optional<CachedUser> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+
+        PrincipalLoadEvent event = new PrincipalLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CachedUser cached = cache != null ? cache.getIfPresent(email) : null;
+
+        if (cached != null) {
+            hitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            commit(event, true, true);
+            return Optional.of(cached);
+        }
+
+        Optional<CachedUser> user = cache != null
+                ? Optional.ofNullable(cache.get(email, key -> this.load(key).orElse(null)))
+                : this.load(email);
+
+        Timer timer = user.isPresent() ? missFoundTimer : missNotFoundTimer;
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        commit(event, false, user.isPresent());
+        return user;
+    }
+
+    public void invalidate(String email) {
+        if (cache != null && email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+
+    private Optional<CachedUser> load(String email) {
+        return userRepository.findByEmail(email).map(CachedUser::from);
+    }
+
+    private static void commit(PrincipalLoadEvent event, boolean cacheHit, boolean found) {
+        if (event.shouldCommit()) {
+            event.cacheHit = cacheHit;
+            event.found = found;
+            event.commit();
+        }
+    }
+
+    private static Timer lookupTimer(MeterRegistry meterRegistry, String cache, String outcome) {
+        return Timer.builder("auth.principal.lookup")
+                .description("Principal lookup by email in the security filter")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
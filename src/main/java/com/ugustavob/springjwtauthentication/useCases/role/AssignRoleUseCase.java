@@ -3,7 +3,10 @@ package com.ugustavob.springjwtauthentication.useCases.role;
 import com.ugustavob.springjwtauthentication.dto.AssignRoleRequestDTO;
 import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
 import com.ugustavob.springjwtauthentication.exceptions.UserAlreadyHasRoleException;
+import com.ugustavob.springjwtauthentication.repositories.user.UserFilter;
 import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
+import com.ugustavob.springjwtauthentication.security.TokenVersionStore;
+import com.ugustavob.springjwtauthentication.security.UserPrincipalCache;
 import com.ugustavob.springjwtauthentication.useCases.user.GetUserUseCase;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -16,15 +19,23 @@ import java.util.UUID;
 public class AssignRoleUseCase {
     private final GetUserUseCase getUserUseCase;
     private final UserRepository userRepository;
+    private final TokenVersionStore tokenVersionStore;
+    private final UserPrincipalCache userPrincipalCache;
 
     public UserEntity execute(@Valid AssignRoleRequestDTO assignRoleRequestDTO, UUID userId) {
         UserEntity user = getUserUseCase.execute(userId);
+        String role = UserFilter.normalizeRole(assignRoleRequestDTO.role());
 
-        if (user.getRole().contains("ROLE_" + assignRoleRequestDTO.role().toUpperCase())) {
+        if (user.getRole().contains(role)) {
             throw new UserAlreadyHasRoleException("User already has role: " + assignRoleRequestDTO.role());
         }
-        user.getRole().add("ROLE_" + assignRoleRequestDTO.role().toUpperCase());
+        user.getRole().add(role);
+        user.setTokenVersion(user.getTokenVersion() + 1);
 
-        return userRepository.save(user);
+        UserEntity savedUser = userRepository.save(user);
+        tokenVersionStore.update(savedUser.getId(), savedUser.getTokenVersion());
+        userPrincipalCache.invalidate(savedUser.getEmail());
+
+        return savedUser;
     }
 }
@@ -0,0 +1,76 @@
+package com.ugustavob.springjwtauthentication.useCases.role;
+
+import com.ugustavob.springjwtauthentication.dto.BulkRoleRequestDTO;
+import com.ugustavob.springjwtauthentication.dto.BulkRoleResponseDTO;
+import com.ugustavob.springjwtauthentication.repositories.user.UserFilter;
+import com.ugustavob.springjwtauthentication.security.TokenVersionStore;
+import com.ugustavob.springjwtauthentication.security.UserPrincipalCache;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Grants or revokes a role for many users with one statement. The role change and the
+ * {@code token_version} bump of the affected users happen together, and only users whose roles
+ * actually changed are bumped and evicted from the principal cache. A revoke never targets the
+ * caller, so an admin cannot remove their own access (or the last admin's) through a filter.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkRoleUseCase {
+    private static final String GRANT = "with targets as (select u.id from users u where %s), " +
+            "changed as (insert into roles (user_id, role) select t.id, ? from targets t " +
+            "where not exists (select 1 from roles r where r.user_id = t.id and r.role = ?) returning user_id) " +
+            "update users set token_version = token_version + 1, version = version + 1, updated_at = now() " +
+            "where id in (select user_id from changed) returning id, email, token_version";
+    private static final String REVOKE = "with targets as (select u.id from users u where %s and u.id <> ?), " +
+            "changed as (delete from roles r where r.role = ? and r.user_id in (select id from targets) " +
+            "returning user_id) " +
+            "update users set token_version = token_version + 1, version = version + 1, updated_at = now() " +
+            "where id in (select user_id from changed) returning id, email, token_version";
+
+    public enum Action {
+        GRANT,
+        REVOKE
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TokenVersionStore tokenVersionStore;
+    private final UserPrincipalCache userPrincipalCache;
+
+    public BulkRoleResponseDTO execute(Action action, @Valid BulkRoleRequestDTO request, UUID callerId) {
+        String role = UserFilter.normalizeRole(request.role());
+        UserFilter filter = UserFilter.of(request.userIds(), request.withRole(), request.emailDomain());
+        String sql = (action == Action.GRANT ? GRANT : REVOKE).formatted(filter.condition());
+
+        List<ChangedUser> changed = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            int index = filter.bind(ps, 1);
+
+            if (action == Action.REVOKE) {
+                ps.setObject(index++, callerId);
+            }
+            ps.setString(index++, role);
+            if (action == Action.GRANT) {
+                ps.setString(index, role);
+            }
+            return ps;
+        }, (rs, rowNum) -> new ChangedUser(rs.getObject("id", UUID.class), rs.getString("email"),
+                rs.getInt("token_version")));
+
+        for (ChangedUser user : changed) {
+            tokenVersionStore.update(user.id(), user.tokenVersion());
+            userPrincipalCache.invalidate(user.email());
+        }
+
+        return new BulkRoleResponseDTO(role, changed.size());
+    }
+
+    private record ChangedUser(UUID id, String email, int tokenVersion) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.ugustavob.springjwtauthentication.useCases.token;
+
+import com.ugustavob.springjwtauthentication.entities.token.RefreshTokenEntity;
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.repositories.token.RefreshTokenRepository;
+import com.ugustavob.springjwtauthentication.security.TokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+public class CreateRefreshTokenUseCase {
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration refreshTokenTtl;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public CreateRefreshTokenUseCase(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${api.security.refresh-token.ttl:30d}") Duration refreshTokenTtl
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    /**
+     * Issues a refresh token starting a new rotation family and returns its raw value. Only its
+     * SHA-256 digest is stored.
+     */
+    public String execute(UserEntity user) {
+        return this.execute(user, UUID.randomUUID());
+    }
+
+    public String execute(UserEntity user, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshTokenEntity(null, user, TokenService.digest(rawToken), familyId,
+                Instant.now().plus(refreshTokenTtl), false));
+
+        return rawToken;
+    }
+}
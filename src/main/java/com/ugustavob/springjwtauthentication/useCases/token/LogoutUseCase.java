@@ -0,0 +1,33 @@
+package com.ugustavob.springjwtauthentication.useCases.token;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.ugustavob.springjwtauthentication.repositories.token.RefreshTokenRepository;
+import com.ugustavob.springjwtauthentication.security.TokenRevocationList;
+import com.ugustavob.springjwtauthentication.security.TokenService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class LogoutUseCase {
+    private final TokenRevocationList tokenRevocationList;
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Transactional
+    public void execute(UUID userId, DecodedJWT accessToken, String refreshToken) {
+        if (accessToken.getId() != null) {
+            tokenRevocationList.revoke(accessToken.getId(), accessToken.getExpiresAtAsInstant());
+        } else {
+            // Tokens issued before jti was added can only be revoked through the per-user cut-off
+            tokenRevocationList.revokeUser(userId, TokenRevocationList.cutOff(), accessToken.getExpiresAtAsInstant());
+        }
+
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.findByTokenHash(TokenService.digest(refreshToken))
+                    .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ugustavob.springjwtauthentication.useCases.token;
+
+import com.ugustavob.springjwtauthentication.repositories.token.RefreshTokenRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+public class PurgeExpiredRefreshTokensUseCase {
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${api.security.refresh-token.purge-interval:PT1H}")
+    public void execute() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+}
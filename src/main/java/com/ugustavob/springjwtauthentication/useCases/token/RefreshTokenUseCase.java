@@ -0,0 +1,47 @@
+package com.ugustavob.springjwtauthentication.useCases.token;
+
+import com.ugustavob.springjwtauthentication.dto.LoginResponseDTO;
+import com.ugustavob.springjwtauthentication.entities.token.RefreshTokenEntity;
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.exceptions.InvalidRefreshTokenException;
+import com.ugustavob.springjwtauthentication.repositories.token.RefreshTokenRepository;
+import com.ugustavob.springjwtauthentication.security.TokenService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenUseCase {
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final CreateRefreshTokenUseCase createRefreshTokenUseCase;
+    private final TokenService tokenService;
+
+    /**
+     * Rotates a refresh token: the presented token is revoked and a new one in the same family is
+     * issued together with a new access token. Presenting an already rotated token revokes the whole
+     * family, since it means the token was copied. Expired tokens are rejected before either, so
+     * retrying with one is not mistaken for reuse.
+     */
+    @Transactional(dontRollbackOn = InvalidRefreshTokenException.class)
+    public LoginResponseDTO execute(String rawToken) {
+        RefreshTokenEntity refreshToken = refreshTokenRepository.findByTokenHash(TokenService.digest(rawToken))
+                .orElseThrow(InvalidRefreshTokenException::new);
+
+        if (refreshToken.getExpiresAt().isBefore(Instant.now())) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+
+        if (refreshToken.isRevoked() || refreshTokenRepository.revokeIfActive(refreshToken.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(refreshToken.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token reuse detected");
+        }
+
+        UserEntity user = refreshToken.getUser();
+        String newRefreshToken = createRefreshTokenUseCase.execute(user, refreshToken.getFamilyId());
+
+        return new LoginResponseDTO(user.getName(), tokenService.generateToken(user), newRefreshToken);
+    }
+}
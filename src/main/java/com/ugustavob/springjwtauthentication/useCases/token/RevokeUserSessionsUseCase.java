@@ -0,0 +1,34 @@
+package com.ugustavob.springjwtauthentication.useCases.token;
+
+import com.ugustavob.springjwtauthentication.exceptions.UserNotFoundException;
+import com.ugustavob.springjwtauthentication.repositories.token.RefreshTokenRepository;
+import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
+import com.ugustavob.springjwtauthentication.security.TokenRevocationList;
+import com.ugustavob.springjwtauthentication.security.TokenService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class RevokeUserSessionsUseCase {
+    private final UserRepository userRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenService tokenService;
+
+    @Transactional
+    public void execute(UUID userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException();
+        }
+
+        Instant issuedBefore = TokenRevocationList.cutOff();
+
+        tokenRevocationList.revokeUser(userId, issuedBefore, issuedBefore.plus(tokenService.getAccessTokenTtl()));
+        refreshTokenRepository.revokeAllForUser(userId);
+    }
+}
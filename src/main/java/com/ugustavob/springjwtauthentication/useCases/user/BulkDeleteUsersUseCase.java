@@ -0,0 +1,98 @@
+package com.ugustavob.springjwtauthentication.useCases.user;
+
+import com.ugustavob.springjwtauthentication.dto.BulkDeleteRequestDTO;
+import com.ugustavob.springjwtauthentication.dto.BulkDeleteResponseDTO;
+import com.ugustavob.springjwtauthentication.repositories.user.UserFilter;
+import com.ugustavob.springjwtauthentication.security.EmailExistenceFilter;
+import com.ugustavob.springjwtauthentication.security.TokenRevocationList;
+import com.ugustavob.springjwtauthentication.security.TokenService;
+import com.ugustavob.springjwtauthentication.security.TokenVersionStore;
+import com.ugustavob.springjwtauthentication.security.UserPrincipalCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deletes every user selected by a list of ids and/or filters. Users are removed in batches of at
+ * most {@code batchSize} rows, each committed on its own, so a large offboarding never holds locks
+ * on the whole set or builds one huge transaction. The caller is never deleted, and each batch
+ * revokes the access tokens of the users it deletes in the same statement.
+ */
+@Service
+public class BulkDeleteUsersUseCase {
+    private static final String DELETE_BATCH = "with deleted as (delete from users where id in " +
+            "(select u.id from users u where %s and u.id <> ? limit ?) returning id, email), " +
+            "revoked as (insert into revoked_tokens (user_id, issued_before, expires_at) " +
+            "select id, cast(? as timestamptz), cast(? as timestamptz) from deleted) " +
+            "select id, email from deleted";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserPrincipalCache userPrincipalCache;
+    private final EmailExistenceFilter emailExistenceFilter;
+    private final TokenRevocationList tokenRevocationList;
+    private final TokenVersionStore tokenVersionStore;
+    private final TokenService tokenService;
+    private final int batchSize;
+
+    public BulkDeleteUsersUseCase(
+            JdbcTemplate jdbcTemplate,
+            UserPrincipalCache userPrincipalCache,
+            EmailExistenceFilter emailExistenceFilter,
+            TokenRevocationList tokenRevocationList,
+            TokenVersionStore tokenVersionStore,
+            TokenService tokenService,
+            @Value("${api.users.delete.batch-size:1000}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userPrincipalCache = userPrincipalCache;
+        this.emailExistenceFilter = emailExistenceFilter;
+        this.tokenRevocationList = tokenRevocationList;
+        this.tokenVersionStore = tokenVersionStore;
+        this.tokenService = tokenService;
+        this.batchSize = batchSize;
+    }
+
+    public BulkDeleteResponseDTO execute(BulkDeleteRequestDTO request, UUID callerId) {
+        UserFilter filter = UserFilter.of(request.userIds(), request.withRole(), request.emailDomain());
+        String sql = DELETE_BATCH.formatted(filter.condition());
+        long deleted = 0;
+        List<DeletedUser> batch;
+
+        do {
+            Instant issuedBefore = TokenRevocationList.cutOff();
+            Instant expiresAt = issuedBefore.plus(tokenService.getAccessTokenTtl());
+
+            batch = jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql);
+                int index = filter.bind(ps, 1);
+
+                ps.setObject(index++, callerId);
+                ps.setInt(index++, batchSize);
+                ps.setTimestamp(index++, Timestamp.from(issuedBefore));
+                ps.setTimestamp(index, Timestamp.from(expiresAt));
+                return ps;
+            }, (rs, rowNum) -> new DeletedUser(rs.getObject("id", UUID.class), rs.getString("email")));
+
+            tokenRevocationList.applyUserRevocations(batch.stream().map(DeletedUser::id).toList(), issuedBefore,
+                    expiresAt);
+
+            for (DeletedUser user : batch) {
+                tokenVersionStore.remove(user.id());
+                userPrincipalCache.invalidate(user.email());
+                emailExistenceFilter.remove(user.email());
+            }
+            deleted += batch.size();
+        } while (batch.size() == batchSize);
+
+        return new BulkDeleteResponseDTO(deleted);
+    }
+
+    private record DeletedUser(UUID id, String email) {
+    }
+}
@@ -4,38 +4,47 @@ import com.ugustavob.springjwtauthentication.dto.RegisterRequestDTO;
 import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
 import com.ugustavob.springjwtauthentication.exceptions.UserAlreadyExistsException;
 import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
-import com.ugustavob.springjwtauthentication.security.TokenService;
+import com.ugustavob.springjwtauthentication.security.EmailExistenceFilter;
+import com.ugustavob.springjwtauthentication.security.PasswordHashingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
-import java.util.Optional;
 import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CreateUserUseCase {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final EmailExistenceFilter emailExistenceFilter;
 
+    /**
+     * Inserts without looking the email up first. The unique index on {@code lower(email)} rejects
+     * an existing email, including one registered concurrently.
+     */
     public UserEntity execute(@Valid RegisterRequestDTO registerRequest) {
-        Optional<UserEntity> user = userRepository.findByEmail(registerRequest.email());
-
-        if (user.isEmpty()) {
-            UserEntity newUser = new UserEntity();
-            newUser.setName(registerRequest.name());
-            newUser.setEmail(registerRequest.email());
-            newUser.setPassword(passwordEncoder.encode(registerRequest.password()));
-
-            Set<String> roles = new HashSet<>();
-            roles.add("ROLE_USER");
-            newUser.setRole(roles);
-
-            return userRepository.save(newUser);
+        UserEntity newUser = new UserEntity();
+        newUser.setName(registerRequest.name());
+        newUser.setEmail(registerRequest.email());
+        newUser.setPassword(passwordHashingService.encode(registerRequest.password()));
+
+        Set<String> roles = new HashSet<>();
+        roles.add("ROLE_USER");
+        newUser.setRole(roles);
+
+        try {
+            UserEntity savedUser = userRepository.saveAndFlush(newUser);
+            emailExistenceFilter.add(savedUser.getEmail());
+
+            return savedUser;
+        } catch (DataIntegrityViolationException e) {
+            if (UniqueViolation.isCause(e)) {
+                throw new UserAlreadyExistsException();
+            }
+            throw e;
         }
-
-        throw new UserAlreadyExistsException();
     }
 }
@@ -1,20 +1,60 @@
 package com.ugustavob.springjwtauthentication.useCases.user;
 
-import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.dto.GetUserResponseDTO;
 import com.ugustavob.springjwtauthentication.exceptions.UserNotFoundException;
-import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
+import com.ugustavob.springjwtauthentication.security.EmailExistenceFilter;
+import com.ugustavob.springjwtauthentication.security.TokenRevocationList;
+import com.ugustavob.springjwtauthentication.security.TokenService;
+import com.ugustavob.springjwtauthentication.security.TokenVersionStore;
+import com.ugustavob.springjwtauthentication.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * Deletes a user with a single statement. Roles and refresh tokens go with it through their
+ * {@code on delete cascade} foreign keys, so nothing is loaded before the delete. Access tokens
+ * already issued to the user are revoked by the same statement, so they stop working even with
+ * stateless principals.
+ */
 @Service
 @RequiredArgsConstructor
 public class DeleteUserUseCase {
-    private final UserRepository userRepository;
+    private static final String DELETE = "with deleted as (delete from users where id = ? returning id, name, email), " +
+            "revoked as (insert into revoked_tokens (user_id, issued_before, expires_at) " +
+            "select id, cast(? as timestamptz), cast(? as timestamptz) from deleted) " +
+            "select id, name, email from deleted";
 
-    public void execute(UUID id) {
-        UserEntity deletedUser = userRepository.deleteByIdAndReturnEntity(id)
+    private final JdbcTemplate jdbcTemplate;
+    private final UserPrincipalCache userPrincipalCache;
+    private final EmailExistenceFilter emailExistenceFilter;
+    private final TokenRevocationList tokenRevocationList;
+    private final TokenVersionStore tokenVersionStore;
+    private final TokenService tokenService;
+
+    public GetUserResponseDTO execute(UUID id) {
+        Instant issuedBefore = TokenRevocationList.cutOff();
+        Instant expiresAt = issuedBefore.plus(tokenService.getAccessTokenTtl());
+
+        GetUserResponseDTO deletedUser = jdbcTemplate.query(DELETE,
+                        (rs, rowNum) -> new GetUserResponseDTO(rs.getObject("id", UUID.class),
+                                rs.getString("name"), rs.getString("email")),
+                        id, Timestamp.from(issuedBefore), Timestamp.from(expiresAt))
+                .stream()
+                .findFirst()
                 .orElseThrow(UserNotFoundException::new);
+
+        tokenRevocationList.applyUserRevocations(List.of(deletedUser.id()), issuedBefore, expiresAt);
+        tokenVersionStore.remove(deletedUser.id());
+
+        userPrincipalCache.invalidate(deletedUser.email());
+        emailExistenceFilter.remove(deletedUser.email());
+
+        return deletedUser;
     }
 }
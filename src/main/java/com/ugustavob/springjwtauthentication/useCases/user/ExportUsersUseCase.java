@@ -0,0 +1,211 @@
+package com.ugustavob.springjwtauthentication.useCases.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ugustavob.springjwtauthentication.dto.UserExportRowDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class ExportUsersUseCase {
+    private static final String EXPORT_QUERY = "select u.id, u.name, u.email, u.updated_at, r.role " +
+            "from users u left join roles r on r.user_id = u.id ";
+    private static final String UPDATED_SINCE_FILTER = "where u.updated_at >= ? ";
+    private static final String ORDER_BY = "order by u.id";
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public static Format from(String value) {
+            try {
+                return value == null ? NDJSON : Format.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid format: " + value);
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final int flushEvery;
+
+    public ExportUsersUseCase(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${api.users.export.fetch-size:1000}") int fetchSize,
+            @Value("${api.users.export.flush-every:500}") int flushEvery
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * Streams every user (optionally only those updated since {@code updatedSince}) to {@code out}.
+     * Rows are read through a forward-only cursor inside a read-only transaction, so memory use does
+     * not depend on the number of users. Returns the number of users written.
+     */
+    public long execute(Format format, Instant updatedSince, OutputStream out) throws IOException {
+        String sql = EXPORT_QUERY + (updatedSince != null ? UPDATED_SINCE_FILTER : "") + ORDER_BY;
+        ExportWriter writer = new ExportWriter(format, out);
+
+        try {
+            if (format == Format.CSV) {
+                writer.write("id,name,email,role,updated_at\n");
+            }
+
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+
+                if (updatedSince != null) {
+                    statement.setTimestamp(1, Timestamp.from(updatedSince));
+                }
+                return statement;
+            }, writer));
+
+            writer.finish();
+            return writer.written;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ExportWriter implements RowCallbackHandler {
+        private final Format format;
+        private final OutputStream out;
+
+        private UUID currentId;
+        private String currentName;
+        private String currentEmail;
+        private Instant currentUpdatedAt;
+        private final Set<String> currentRoles = new LinkedHashSet<>();
+        private int written;
+
+        private ExportWriter(Format format, OutputStream out) {
+            this.format = format;
+            this.out = out;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID id = rs.getObject("id", UUID.class);
+
+            if (!id.equals(currentId)) {
+                this.emit();
+
+                OffsetDateTime updatedAt = rs.getObject("updated_at", OffsetDateTime.class);
+                currentId = id;
+                currentName = rs.getString("name");
+                currentEmail = rs.getString("email");
+                currentUpdatedAt = updatedAt != null ? updatedAt.toInstant() : null;
+            }
+
+            String role = rs.getString("role");
+
+            if (role != null) {
+                currentRoles.add(role);
+            }
+        }
+
+        private void finish() {
+            this.emit();
+            this.flush();
+        }
+
+        private void emit() {
+            if (currentId == null) {
+                return;
+            }
+
+            UserExportRowDTO row = new UserExportRowDTO(currentId, currentName, currentEmail,
+                    Set.copyOf(currentRoles), currentUpdatedAt);
+            currentRoles.clear();
+
+            try {
+                if (format == Format.CSV) {
+                    this.write(toCsv(row));
+                } else {
+                    out.write(objectMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            if (++written % flushEvery == 0) {
+                this.flush();
+            }
+        }
+
+        private void write(String value) {
+            try {
+                out.write(value.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void flush() {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static String toCsv(UserExportRowDTO row) {
+        return row.id() + "," +
+                csvField(row.name()) + "," +
+                csvField(row.email()) + "," +
+                csvField(String.join(";", row.role())) + "," +
+                (row.updatedAt() != null ? row.updatedAt().toString() : "") + "\n";
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -1,30 +1,108 @@
 package com.ugustavob.springjwtauthentication.useCases.user;
 
+import com.ugustavob.springjwtauthentication.dto.GetAllUsersPageResponseDTO;
 import com.ugustavob.springjwtauthentication.dto.GetAllUsersResponseDTO;
-import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
 import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.ugustavob.springjwtauthentication.repositories.user.UserRoleView;
+import com.ugustavob.springjwtauthentication.repositories.user.UserSummaryView;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class GetAllUsersUseCase {
     private final UserRepository userRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public List<GetAllUsersResponseDTO> execute() {
-        List<UserEntity> users = userRepository.findAll();
+    public GetAllUsersUseCase(
+            UserRepository userRepository,
+            @Value("${api.users.page.default-size:50}") int defaultPageSize,
+            @Value("${api.users.page.max-size:200}") int maxPageSize
+    ) {
+        this.userRepository = userRepository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
 
-        if (users.isEmpty()) {
+    public GetAllUsersPageResponseDTO execute(String cursor, Integer size) {
+        int pageSize = this.pageSize(size);
+
+        List<UserSummaryView> users = cursor == null || cursor.isBlank()
+                ? userRepository.findSummaryPage(pageSize + 1)
+                : userRepository.findSummaryPageAfter(decodeCursor(cursor), pageSize + 1);
+
+        if (users.isEmpty() && (cursor == null || cursor.isBlank())) {
             return null;
         }
 
-        return users.stream().map(user -> new GetAllUsersResponseDTO(
+        boolean hasMore = users.size() > pageSize;
+        List<UserSummaryView> page = hasMore ? users.subList(0, pageSize) : users;
+        Map<UUID, Set<String>> roles = this.loadRoles(page);
+
+        List<GetAllUsersResponseDTO> content = page.stream().map(user -> new GetAllUsersResponseDTO(
                 user.getId(),
                 user.getName(),
                 user.getEmail(),
-                user.getRole()
+                roles.getOrDefault(user.getId(), Set.of())
         )).toList();
+
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1).getId()) : null;
+
+        return new GetAllUsersPageResponseDTO(content, nextCursor);
+    }
+
+    /**
+     * Strong ETag of the page {@link #execute} would return, hashed from the ids and versions of its
+     * rows (plus the one that decides whether there is a next page). Role changes bump the version,
+     * so the ETag changes whenever any field of the page does.
+     */
+    public String etag(String cursor, Integer size) {
+        int pageSize = this.pageSize(size);
+
+        String fingerprint = cursor == null || cursor.isBlank()
+                ? userRepository.findPageFingerprint(pageSize + 1)
+                : userRepository.findPageFingerprintAfter(decodeCursor(cursor), pageSize + 1);
+
+        return "\"" + fingerprint + "\"";
+    }
+
+    private int pageSize(Integer size) {
+        return size == null || size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
+    }
+
+    private Map<UUID, Set<String>> loadRoles(List<UserSummaryView> users) {
+        Map<UUID, Set<String>> roles = new HashMap<>();
+
+        if (users.isEmpty()) {
+            return roles;
+        }
+
+        List<UUID> ids = users.stream().map(UserSummaryView::getId).toList();
+
+        for (UserRoleView role : userRepository.findRolesByUserIds(ids)) {
+            roles.computeIfAbsent(role.getUserId(), id -> new HashSet<>()).add(role.getRole());
+        }
+        return roles;
+    }
+
+    private static String encodeCursor(UUID id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UUID decodeCursor(String cursor) {
+        try {
+            return UUID.fromString(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 }
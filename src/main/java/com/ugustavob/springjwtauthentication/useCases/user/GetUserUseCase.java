@@ -17,4 +17,13 @@ public class GetUserUseCase {
         return userRepository.findById(UUID.fromString(id.toString()))
                 .orElseThrow(UserNotFoundException::new);
     }
+
+    /**
+     * Strong ETag of the user, read from the version column alone so a matching
+     * {@code If-None-Match} can be answered without loading the user.
+     */
+    public String etag(UUID id) {
+        long version = userRepository.findVersionById(id).orElseThrow(UserNotFoundException::new);
+        return "\"" + id + "-" + version + "\"";
+    }
 }
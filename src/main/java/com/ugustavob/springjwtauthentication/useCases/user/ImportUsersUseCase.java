@@ -0,0 +1,258 @@
+package com.ugustavob.springjwtauthentication.useCases.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ugustavob.springjwtauthentication.dto.RegisterRequestDTO;
+import com.ugustavob.springjwtauthentication.dto.UserImportResponseDTO;
+import com.ugustavob.springjwtauthentication.dto.UserImportResultDTO;
+import com.ugustavob.springjwtauthentication.dto.UserImportResultDTO.Status;
+import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
+import com.ugustavob.springjwtauthentication.security.EmailExistenceFilter;
+import com.ugustavob.springjwtauthentication.security.PasswordHashingService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class ImportUsersUseCase {
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+    private static final String INSERT_USER = "insert into users (id, name, email, password, token_version, " +
+            "updated_at) values (?, ?, ?, ?, 0, now()) on conflict (lower(email)) do nothing";
+    private static final String INSERT_ROLE = "insert into roles (user_id, role) values (?, ?)";
+
+    private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final EmailExistenceFilter emailExistenceFilter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader reader;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxRows;
+
+    public ImportUsersUseCase(
+            UserRepository userRepository,
+            PasswordHashingService passwordHashingService,
+            EmailExistenceFilter emailExistenceFilter,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${api.users.import.batch-size:1000}") int batchSize,
+            @Value("${api.users.import.max-rows:100000}") int maxRows
+    ) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.emailExistenceFilter = emailExistenceFilter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reader = objectMapper.readerFor(RegisterRequestDTO.class);
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Creates users from a JSON array or newline-delimited JSON objects, reading {@code in} as a
+     * stream. Each batch is checked against the database with one query, hashed on all hashing
+     * threads and inserted with JDBC batches in its own transaction. Rows whose email is invalid,
+     * repeated in the request or already registered are reported instead of failing the import.
+     * A malformed row stops the import; the batches before it stay committed.
+     */
+    public UserImportResponseDTO execute(InputStream in) throws IOException {
+        List<UserImportResultDTO> results = new ArrayList<>();
+        List<Row> batch = new ArrayList<>(batchSize);
+        Set<String> seenEmails = new HashSet<>();
+        int index = 0;
+
+        try (MappingIterator<RegisterRequestDTO> rows = reader.readValues(in)) {
+            while (rows.hasNextValue()) {
+                if (index >= maxRows) {
+                    results.add(new UserImportResultDTO(index, null, Status.INVALID, null,
+                            "Import is limited to " + maxRows + " rows"));
+                    break;
+                }
+
+                RegisterRequestDTO row = rows.nextValue();
+                String invalid = this.validate(row);
+
+                if (invalid != null) {
+                    results.add(new UserImportResultDTO(index, row != null ? row.email() : null, Status.INVALID,
+                            null, invalid));
+                } else if (!seenEmails.add(row.email().toLowerCase(Locale.ROOT))) {
+                    results.add(new UserImportResultDTO(index, row.email(), Status.DUPLICATE, null,
+                            "Email repeated in import"));
+                } else {
+                    batch.add(new Row(index, row));
+                }
+
+                index++;
+
+                if (batch.size() >= batchSize) {
+                    this.importBatch(batch, results);
+                    batch.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            results.add(new UserImportResultDTO(index, null, Status.INVALID, null,
+                    "Malformed row: " + e.getOriginalMessage()));
+        }
+
+        if (!batch.isEmpty()) {
+            this.importBatch(batch, results);
+        }
+
+        results.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        return summarize(results);
+    }
+
+    private void importBatch(List<Row> batch, List<UserImportResultDTO> results) {
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+                batch.stream().map(row -> row.request().email().toLowerCase(Locale.ROOT)).toList()));
+        List<Row> pending = new ArrayList<>(batch.size());
+
+        for (Row row : batch) {
+            if (existing.contains(row.request().email().toLowerCase(Locale.ROOT))) {
+                results.add(duplicate(row));
+            } else {
+                pending.add(row);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = passwordHashingService.encodeAll(
+                pending.stream().map(row -> row.request().password()).toList());
+        List<UUID> ids = pending.stream().map(row -> UUID.randomUUID()).toList();
+
+        Set<UUID> inserted = transactionTemplate.execute(status -> this.insert(pending, ids, hashes));
+
+        for (int i = 0; i < pending.size(); i++) {
+            Row row = pending.get(i);
+
+            if (inserted.contains(ids.get(i))) {
+                emailExistenceFilter.add(row.request().email());
+                results.add(new UserImportResultDTO(row.index(), row.request().email(), Status.CREATED, ids.get(i),
+                        null));
+            } else {
+                results.add(duplicate(row));
+            }
+        }
+    }
+
+    /**
+     * Rows that lost a race with a concurrent registration of the same email are skipped by
+     * {@code on conflict do nothing} and get no roles.
+     */
+    private Set<UUID> insert(List<Row> rows, List<UUID> ids, List<String> hashes) {
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_USER, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setObject(1, ids.get(i));
+                ps.setString(2, rows.get(i).request().name());
+                ps.setString(3, rows.get(i).request().email());
+                ps.setString(4, hashes.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        Set<UUID> inserted = new HashSet<>();
+        boolean unknownCounts = false;
+
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                unknownCounts = true;
+            } else if (counts[i] > 0) {
+                inserted.add(ids.get(i));
+            }
+        }
+
+        if (unknownCounts) {
+            inserted = this.findInserted(ids);
+        }
+
+        List<UUID> userIds = List.copyOf(inserted);
+        jdbcTemplate.batchUpdate(INSERT_ROLE, userIds, userIds.size(), (ps, userId) -> {
+            ps.setObject(1, userId);
+            ps.setString(2, DEFAULT_ROLE);
+        });
+
+        return inserted;
+    }
+
+    /**
+     * Drivers that rewrite batches (pgjdbc with {@code reWriteBatchedInserts}) do not report
+     * per-row counts, so the inserted ids are read back instead.
+     */
+    private Set<UUID> findInserted(Collection<UUID> ids) {
+        String placeholders = ids.stream().map(id -> "?").collect(Collectors.joining(","));
+        return new HashSet<>(jdbcTemplate.queryForList("select id from users where id in (" + placeholders + ")",
+                UUID.class, ids.toArray()));
+    }
+
+    private String validate(RegisterRequestDTO row) {
+        if (row == null) {
+            return "Row is empty";
+        }
+
+        Set<ConstraintViolation<RegisterRequestDTO>> violations = validator.validate(row);
+
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static UserImportResultDTO duplicate(Row row) {
+        return new UserImportResultDTO(row.index(), row.request().email(), Status.DUPLICATE, null,
+                "Email already registered");
+    }
+
+    private static UserImportResponseDTO summarize(List<UserImportResultDTO> results) {
+        int created = 0;
+        int duplicates = 0;
+        int invalid = 0;
+
+        for (UserImportResultDTO result : results) {
+            switch (result.status()) {
+                case CREATED -> created++;
+                case DUPLICATE -> duplicates++;
+                case INVALID -> invalid++;
+            }
+        }
+        return new UserImportResponseDTO(created, duplicates, invalid, results);
+    }
+
+    private record Row(int index, RegisterRequestDTO request) {
+    }
+}
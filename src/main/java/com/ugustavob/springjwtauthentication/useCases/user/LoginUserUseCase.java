@@ -4,10 +4,11 @@ import com.ugustavob.springjwtauthentication.dto.LoginRequestDTO;
 import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
 import com.ugustavob.springjwtauthentication.exceptions.InvalidCredentialsException;
 import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
-import com.ugustavob.springjwtauthentication.security.TokenService;
+import com.ugustavob.springjwtauthentication.security.EmailExistenceFilter;
+import com.ugustavob.springjwtauthentication.security.PasswordHashingService;
+import com.ugustavob.springjwtauthentication.security.UserPrincipalCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -16,15 +17,30 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class LoginUserUseCase {
     private final UserRepository userRepository;
-    private final TokenService tokenService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final EmailExistenceFilter emailExistenceFilter;
+    private final UserPrincipalCache userPrincipalCache;
 
     public UserEntity execute(@Valid LoginRequestDTO loginRequest) {
-        Optional<UserEntity> user = userRepository.findByEmail(loginRequest.email());
+        Optional<UserEntity> user = emailExistenceFilter.mightContain(loginRequest.email())
+                ? userRepository.findByEmail(loginRequest.email())
+                : Optional.empty();
 
-        if (user.isPresent() && passwordEncoder.matches(loginRequest.password(), user.get().getPassword())) {
-            String token = tokenService.generateToken(user.get());
-            return user.get();
+        if (user.isEmpty()) {
+            passwordHashingService.simulateMatch(loginRequest.password());
+            throw new InvalidCredentialsException();
+        }
+
+        if (passwordHashingService.matches(loginRequest.password(), user.get().getPassword())) {
+            UserEntity userEntity = user.get();
+
+            if (passwordHashingService.upgradeEncoding(userEntity.getPassword())) {
+                userEntity.setPassword(passwordHashingService.encode(loginRequest.password()));
+                userEntity = userRepository.save(userEntity);
+                userPrincipalCache.invalidate(userEntity.getEmail());
+            }
+
+            return userEntity;
         }
 
         throw new InvalidCredentialsException();
@@ -0,0 +1,105 @@
+package com.ugustavob.springjwtauthentication.useCases.user;
+
+import com.ugustavob.springjwtauthentication.dto.PatchUserRequestDTO;
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.exceptions.UserAlreadyExistsException;
+import com.ugustavob.springjwtauthentication.exceptions.UserNotFoundException;
+import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
+import com.ugustavob.springjwtauthentication.security.EmailExistenceFilter;
+import com.ugustavob.springjwtauthentication.security.PasswordHashingService;
+import com.ugustavob.springjwtauthentication.security.UserPrincipalCache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+/**
+ * Applies the non-null fields of the request. Unchanged fields are skipped, so the update statement
+ * only lists changed columns (see {@code @DynamicUpdate} on {@link UserEntity}) and nothing is
+ * written when nothing changed. The password is hashed only when one is sent, and a taken email is
+ * detected by the unique index rather than a lookup.
+ */
+@Service
+public class PatchUserUseCase {
+    private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final EmailExistenceFilter emailExistenceFilter;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public PatchUserUseCase(
+            UserRepository userRepository,
+            PasswordHashingService passwordHashingService,
+            EmailExistenceFilter emailExistenceFilter,
+            UserPrincipalCache userPrincipalCache,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.emailExistenceFilter = emailExistenceFilter;
+        this.userPrincipalCache = userPrincipalCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public UserEntity execute(UUID id, PatchUserRequestDTO patchUserRequest) {
+        String password = patchUserRequest.password() != null
+                ? passwordHashingService.encode(patchUserRequest.password())
+                : null;
+
+        Patched patched;
+
+        try {
+            patched = transactionTemplate.execute(status -> this.apply(id, patchUserRequest, password));
+        } catch (DataIntegrityViolationException e) {
+            if (UniqueViolation.isCause(e)) {
+                throw new UserAlreadyExistsException("Email already exists");
+            }
+            throw e;
+        }
+
+        if (patched.changed()) {
+            UserEntity user = patched.user();
+            userPrincipalCache.invalidate(patched.previousEmail());
+            userPrincipalCache.invalidate(user.getEmail());
+
+            if (!patched.previousEmail().equals(user.getEmail())) {
+                emailExistenceFilter.remove(patched.previousEmail());
+                emailExistenceFilter.add(user.getEmail());
+            }
+        }
+
+        return patched.user();
+    }
+
+    private Patched apply(UUID id, PatchUserRequestDTO patchUserRequest, String password) {
+        UserEntity user = userRepository.findById(id).orElseThrow(UserNotFoundException::new);
+        String previousEmail = user.getEmail();
+        boolean changed = false;
+
+        if (patchUserRequest.name() != null && !patchUserRequest.name().equals(user.getName())) {
+            user.setName(patchUserRequest.name());
+            changed = true;
+        }
+
+        if (patchUserRequest.email() != null && !patchUserRequest.email().equals(user.getEmail())) {
+            user.setEmail(patchUserRequest.email());
+            changed = true;
+        }
+
+        if (password != null) {
+            user.setPassword(password);
+            changed = true;
+        }
+
+        if (changed) {
+            userRepository.flush();
+        }
+
+        return new Patched(user, previousEmail, changed);
+    }
+
+    private record Patched(UserEntity user, String previousEmail, boolean changed) {
+    }
+}
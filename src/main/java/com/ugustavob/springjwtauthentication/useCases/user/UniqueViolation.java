@@ -0,0 +1,17 @@
+package com.ugustavob.springjwtauthentication.useCases.user;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+final class UniqueViolation {
+    private static final String SQL_STATE = "23505";
+
+    private UniqueViolation() {
+    }
+
+    static boolean isCause(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && SQL_STATE.equals(sqlException.getSQLState());
+    }
+}
@@ -0,0 +1,59 @@
+-- Schema as documented in the README before migrations were introduced. Databases created from
+-- that script are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+create table users
+(
+    id            uuid                     default gen_random_uuid() not null
+        primary key,
+    name          varchar(255)                                       not null,
+    email         varchar(255)                                       not null
+        constraint users_email_key unique,
+    password      varchar(255)                                       not null,
+    token_version integer                  default 0                 not null,
+    updated_at    timestamp with time zone default now()
+);
+
+create table roles
+(
+    role    varchar(50) not null,
+    user_id uuid        not null
+        constraint fk_user
+            references users
+            on delete cascade
+);
+
+create table refresh_tokens
+(
+    id         uuid    default gen_random_uuid() not null
+        primary key,
+    user_id    uuid                              not null
+        references users
+            on delete cascade,
+    token_hash varchar(64)                       not null
+        unique,
+    family_id  uuid                              not null,
+    expires_at timestamp with time zone          not null,
+    revoked    boolean default false             not null
+);
+
+create index ix_refresh_tokens_family_id on refresh_tokens (family_id);
+
+create table revoked_tokens
+(
+    id            uuid default gen_random_uuid() not null
+        primary key,
+    jti           varchar(64),
+    user_id       uuid,
+    issued_before timestamp with time zone,
+    expires_at    timestamp with time zone       not null
+);
+
+create table signing_keys
+(
+    kid          varchar(36)              not null
+        primary key,
+    public_key   text                     not null,
+    private_key  text                     not null,
+    activates_at timestamp with time zone not null,
+    expires_at   timestamp with time zone not null
+);
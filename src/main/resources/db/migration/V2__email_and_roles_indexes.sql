@@ -0,0 +1,16 @@
+-- Emails are unique regardless of case. The case-sensitive constraint is replaced by an index on
+-- lower(email), which is also the index findByEmail uses. Fails if two existing users differ only
+-- in the case of their email; those have to be merged by hand first.
+create unique index ux_users_email_lower on users (lower(email));
+alter table users drop constraint if exists users_email_key;
+
+-- Remove duplicate grants left by concurrent role updates, then prevent new ones. The index leads
+-- with user_id, so it also serves role loading and the cascade from users.
+delete from roles a
+    using roles b
+where a.ctid < b.ctid
+  and a.user_id = b.user_id
+  and a.role = b.role;
+create unique index ux_roles_user_id_role on roles (user_id, role);
+
+create index ix_refresh_tokens_user_id on refresh_tokens (user_id);
@@ -0,0 +1,3 @@
+-- Optimistic locking version of a user, bumped on every change to the row or its roles. It also
+-- backs the ETags of GET /users/me/ and GET /users/.
+alter table users add column version bigint default 0 not null;
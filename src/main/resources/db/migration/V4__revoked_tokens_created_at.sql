@@ -0,0 +1,4 @@
+-- When a revocation was written, by the database clock. Every instance periodically reads the rows
+-- created since its last sync, so revocations made on another instance take effect there too.
+alter table revoked_tokens add column created_at timestamp with time zone default now() not null;
+create index ix_revoked_tokens_created_at on revoked_tokens (created_at);
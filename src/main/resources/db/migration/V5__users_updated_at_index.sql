@@ -0,0 +1,3 @@
+-- Serves the periodic sync of recently updated emails into the email existence filter and the
+-- updatedSince filter of GET /users/export.
+create index ix_users_updated_at on users (updated_at);
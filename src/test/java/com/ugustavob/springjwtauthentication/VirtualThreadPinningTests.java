@@ -0,0 +1,77 @@
+package com.ugustavob.springjwtauthentication;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Code running on request threads must not block inside {@code synchronized}, which pins the carrier
+ * thread when virtual threads are enabled.
+ */
+class VirtualThreadPinningTests {
+    private static final String[] SCANNED_PACKAGES = {
+            "com/ugustavob/springjwtauthentication/useCases/**/*.class",
+            "com/ugustavob/springjwtauthentication/security/**/*.class",
+            "com/ugustavob/springjwtauthentication/controllers/**/*.class",
+    };
+
+    @Test
+    void requestPathDoesNotUseSynchronized() throws IOException {
+        List<String> violations = new ArrayList<>();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+        for (String pattern : SCANNED_PACKAGES) {
+            for (Resource resource : resolver.getResources("classpath*:" + pattern)) {
+                try (InputStream in = resource.getInputStream()) {
+                    new ClassReader(in).accept(new SynchronizedFinder(violations), ClassReader.SKIP_DEBUG);
+                }
+            }
+        }
+
+        assertEquals(List.of(), violations);
+    }
+
+    private static class SynchronizedFinder extends ClassVisitor {
+        private final List<String> violations;
+        private String className;
+
+        SynchronizedFinder(List<String> violations) {
+            super(Opcodes.ASM9);
+            this.violations = violations;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            this.className = name;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            String method = className + "#" + name;
+
+            if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                violations.add(method + " is synchronized");
+            }
+
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitInsn(int opcode) {
+                    if (opcode == Opcodes.MONITORENTER) {
+                        violations.add(method + " has a synchronized block");
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.ugustavob.springjwtauthentication.controllers;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.ugustavob.springjwtauthentication.dto.GetAllUsersPageResponseDTO;
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.exceptions.UserAlreadyExistsException;
+import com.ugustavob.springjwtauthentication.security.CustomUserDetailsService;
+import com.ugustavob.springjwtauthentication.security.PasswordHashingService;
+import com.ugustavob.springjwtauthentication.security.SecurityConfig;
+import com.ugustavob.springjwtauthentication.security.TokenRevocationList;
+import com.ugustavob.springjwtauthentication.security.TokenService;
+import com.ugustavob.springjwtauthentication.security.TokenVersionStore;
+import com.ugustavob.springjwtauthentication.security.UserPrincipal;
+import com.ugustavob.springjwtauthentication.security.UserPrincipalCache;
+import com.ugustavob.springjwtauthentication.useCases.role.AssignRoleUseCase;
+import com.ugustavob.springjwtauthentication.useCases.role.BulkRoleUseCase;
+import com.ugustavob.springjwtauthentication.useCases.token.RevokeUserSessionsUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.BulkDeleteUsersUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.DeleteUserUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.ExportUsersUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.GetAllUsersUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.GetUserUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.ImportUsersUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.PatchUserUseCase;
+import com.ugustavob.springjwtauthentication.useCases.user.UpdateUserUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs requests through the real {@link SecurityConfig} and {@code SecurityFilter}, with tokens
+ * resolved to principals by a mocked {@link TokenService}.
+ */
+@WebMvcTest(UsersController.class)
+@Import(SecurityConfig.class)
+class UsersControllerTests {
+    private static final String USER_TOKEN = "user-token";
+    private static final String ADMIN_TOKEN = "admin-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TokenService tokenService;
+    @MockitoBean
+    private TokenVersionStore tokenVersionStore;
+    @MockitoBean
+    private UserPrincipalCache userPrincipalCache;
+    @MockitoBean
+    private TokenRevocationList tokenRevocationList;
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+    @MockitoBean
+    private PasswordHashingService passwordHashingService;
+
+    @MockitoBean
+    private GetUserUseCase getUserUseCase;
+    @MockitoBean
+    private AssignRoleUseCase assignRoleUseCase;
+    @MockitoBean
+    private BulkRoleUseCase bulkRoleUseCase;
+    @MockitoBean
+    private GetAllUsersUseCase getAllUsersUseCase;
+    @MockitoBean
+    private DeleteUserUseCase deleteUserUseCase;
+    @MockitoBean
+    private BulkDeleteUsersUseCase bulkDeleteUsersUseCase;
+    @MockitoBean
+    private UpdateUserUseCase updateUserUseCase;
+    @MockitoBean
+    private PatchUserUseCase patchUserUseCase;
+    @MockitoBean
+    private ExportUsersUseCase exportUsersUseCase;
+    @MockitoBean
+    private ImportUsersUseCase importUsersUseCase;
+    @MockitoBean
+    private RevokeUserSessionsUseCase revokeUserSessionsUseCase;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID adminId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(tokenService.isStatelessPrincipal()).thenReturn(true);
+        when(tokenVersionStore.isCurrent(any(), anyInt())).thenReturn(true);
+        this.token(USER_TOKEN, new UserPrincipal(userId, "user@example.com", Set.of("ROLE_USER")));
+        this.token(ADMIN_TOKEN, new UserPrincipal(adminId, "admin@example.com", Set.of("ROLE_USER", "ROLE_ADMIN")));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "GET, /users/",
+            "GET, /users/export",
+            "GET, /actuator/prometheus",
+            "POST, /users/import",
+            "POST, /users/delete",
+            "POST, /users/00000000-0000-0000-0000-000000000001/roles",
+            "POST, /users/roles/grant",
+            "POST, /users/roles/revoke",
+            "POST, /users/00000000-0000-0000-0000-000000000001/sessions/revoke",
+            "DELETE, /users/00000000-0000-0000-0000-000000000001",
+    })
+    void adminRoutesAreForbiddenForUsers(String method, String path) throws Exception {
+        mockMvc.perform(request(HttpMethod.valueOf(method), path)
+                        .header("Authorization", "Bearer " + USER_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(getAllUsersUseCase, exportUsersUseCase, importUsersUseCase, bulkDeleteUsersUseCase,
+                assignRoleUseCase, bulkRoleUseCase, revokeUserSessionsUseCase, deleteUserUseCase);
+    }
+
+    @Test
+    void adminRoutesRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/users/"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void adminRoutesAreAllowedForAdmins() throws Exception {
+        when(getAllUsersUseCase.etag(any(), any())).thenReturn("\"page\"");
+        when(getAllUsersUseCase.execute(any(), any())).thenReturn(new GetAllUsersPageResponseDTO(List.of(), null));
+
+        mockMvc.perform(get("/users/").header("Authorization", "Bearer " + ADMIN_TOKEN))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void currentUserIsNotModifiedWhenTheEtagMatches() throws Exception {
+        String etag = "\"" + userId + "-3\"";
+        when(getUserUseCase.etag(userId)).thenReturn(etag);
+
+        mockMvc.perform(get("/users/me/")
+                        .header("Authorization", "Bearer " + USER_TOKEN)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        verify(getUserUseCase, never()).execute(any());
+    }
+
+    @Test
+    void currentUserIsReturnedWithItsEtagWhenItChanged() throws Exception {
+        String etag = "\"" + userId + "-4\"";
+        UserEntity user = new UserEntity();
+        user.setId(userId);
+        user.setName("User");
+        user.setEmail("user@example.com");
+        when(getUserUseCase.etag(userId)).thenReturn(etag);
+        when(getUserUseCase.execute(userId)).thenReturn(user);
+
+        mockMvc.perform(get("/users/me/")
+                        .header("Authorization", "Bearer " + USER_TOKEN)
+                        .header("If-None-Match", "\"" + userId + "-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+    }
+
+    @Test
+    void usersPageIsNotModifiedWhenTheEtagMatches() throws Exception {
+        when(getAllUsersUseCase.etag(null, null)).thenReturn("\"page\"");
+
+        mockMvc.perform(get("/users/")
+                        .header("Authorization", "Bearer " + ADMIN_TOKEN)
+                        .header("If-None-Match", "\"page\""))
+                .andExpect(status().isNotModified());
+
+        verify(getAllUsersUseCase, never()).execute(any(), any());
+    }
+
+    @Test
+    void patchWithATakenEmailIsRejected() throws Exception {
+        when(patchUserUseCase.execute(any(), any())).thenThrow(new UserAlreadyExistsException("Email already exists"));
+
+        mockMvc.perform(patch("/users/me/")
+                        .header("Authorization", "Bearer " + USER_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"other@example.com\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Email already exists"));
+    }
+
+    private void token(String token, UserPrincipal principal) {
+        DecodedJWT decodedJWT = Mockito.mock(DecodedJWT.class);
+        when(decodedJWT.getSubject()).thenReturn(principal.email());
+        when(tokenService.verify(token)).thenReturn(decodedJWT);
+        when(tokenService.toPrincipal(decodedJWT)).thenReturn(principal);
+    }
+}
@@ -0,0 +1,118 @@
+package com.ugustavob.springjwtauthentication.repositories.user;
+
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+class UserRepositoryStatementCountTests {
+    private static final int USERS = 5;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<UserEntity> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            UserEntity user = new UserEntity();
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("hash");
+            user.setRole(new HashSet<>(Set.of("ROLE_USER", "ROLE_" + i)));
+            users.add(entityManager.persist(user));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    @Test
+    void findByEmailLoadsUserAndRolesInOneStatement() {
+        UserEntity user = userRepository.findByEmail("user0@example.com").orElseThrow();
+
+        assertEquals(2, user.getRole().size());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void findByIdLoadsUserAndRolesInOneStatement() {
+        UserEntity user = userRepository.findById(users.get(0).getId()).orElseThrow();
+
+        assertEquals(2, user.getRole().size());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllBatchesRoleLoading() {
+        List<UserEntity> all = userRepository.findAll();
+        all.forEach(user -> assertEquals(2, user.getRole().size()));
+
+        assertEquals(USERS, all.size());
+        assertEquals(2, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void summaryPageAndRolesUseOneStatementEach() {
+        List<UserSummaryView> page = userRepository.findSummaryPage(USERS);
+        List<UUID> ids = page.stream().map(UserSummaryView::getId).toList();
+        List<UserRoleView> roles = userRepository.findRolesByUserIds(ids);
+
+        assertEquals(USERS, page.size());
+        assertEquals(USERS * 2, roles.size());
+        assertEquals(2, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void summaryPageAfterUsesOneStatement() {
+        List<UserSummaryView> first = userRepository.findSummaryPage(1);
+        statistics().clear();
+
+        List<UserSummaryView> rest = userRepository.findSummaryPageAfter(first.get(0).getId(), USERS);
+
+        assertEquals(USERS - 1, rest.size());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void findExistingEmailsUsesOneStatement() {
+        List<String> existing = userRepository.findExistingEmails(List.of("user0@example.com", "new@example.com"));
+
+        assertEquals(List.of("user0@example.com"), existing);
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void findVersionByIdUsesOneStatement() {
+        assertEquals(0L, userRepository.findVersionById(users.get(0).getId()).orElseThrow());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
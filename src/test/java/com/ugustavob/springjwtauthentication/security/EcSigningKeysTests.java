@@ -0,0 +1,142 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.ugustavob.springjwtauthentication.entities.token.SigningKeyEntity;
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.repositories.token.SigningKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Keys rotate every few milliseconds here, so a single refresh after a short sleep activates a new
+ * key while the previous one is still inside its overlap.
+ */
+class EcSigningKeysTests {
+    private static final Duration ROTATION_INTERVAL = Duration.ofMillis(1);
+    private static final Duration OVERLAP = Duration.ofHours(1);
+
+    private final List<SigningKeyEntity> stored = new CopyOnWriteArrayList<>();
+    private SigningKeyRepository signingKeyRepository;
+    private final UserEntity user = new UserEntity();
+
+    @BeforeEach
+    void setUp() {
+        signingKeyRepository = repository(stored);
+
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        user.setRole(new HashSet<>(Set.of("ROLE_USER")));
+    }
+
+    @Test
+    void tokensSignedBeforeARotationStillVerifyByKid() throws InterruptedException {
+        EcSigningKeys signingKeys = this.signingKeys();
+        TokenService tokenService = this.tokenService(signingKeys);
+
+        String beforeRotation = tokenService.generateToken(user);
+        Thread.sleep(5);
+        signingKeys.refresh();
+        String afterRotation = tokenService.generateToken(user);
+
+        String oldKid = JWT.decode(beforeRotation).getKeyId();
+        String newKid = JWT.decode(afterRotation).getKeyId();
+        assertNotEquals(oldKid, newKid);
+        assertEquals(List.of(newKid, oldKid), signingKeys.jwks().stream().map(jwk -> jwk.get("kid")).toList());
+
+        DecodedJWT verifiedOld = tokenService.verify(beforeRotation);
+        DecodedJWT verifiedNew = tokenService.verify(afterRotation);
+        assertNotNull(verifiedOld);
+        assertNotNull(verifiedNew);
+        assertEquals(oldKid, verifiedOld.getKeyId());
+        assertEquals(newKid, verifiedNew.getKeyId());
+    }
+
+    @Test
+    void keyRotatedByAnotherInstanceIsLoadedOnFirstUse() throws InterruptedException {
+        EcSigningKeys signingKeys = this.signingKeys();
+        Thread.sleep(5);
+        EcSigningKeys otherInstance = this.signingKeys();
+
+        String token = this.tokenService(otherInstance).generateToken(user);
+
+        assertNotNull(this.tokenService(signingKeys).verify(token));
+    }
+
+    @Test
+    void unknownOrMismatchedKeyIsRejected() {
+        EcSigningKeys signingKeys = this.signingKeys();
+        TokenService tokenService = this.tokenService(signingKeys);
+        String kid = JWT.decode(tokenService.generateToken(user)).getKeyId();
+
+        EcSigningKeys foreignKeys = new EcSigningKeys(repository(new CopyOnWriteArrayList<>()), ROTATION_INTERVAL,
+                OVERLAP, Duration.ZERO, Duration.ZERO);
+        foreignKeys.refresh();
+
+        String forged = JWT.create()
+                .withIssuer(TokenService.ISSUER)
+                .withKeyId(kid)
+                .withSubject(user.getEmail())
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(foreignKeys.current().algorithm());
+
+        assertNotNull(signingKeys.verifier(kid));
+        assertNull(tokenService.verify(forged));
+        assertNull(tokenService.verify(this.tokenService(foreignKeys).generateToken(user)));
+        assertNull(signingKeys.verifier(null));
+    }
+
+    @Test
+    void jwksPublishesPublicCoordinatesOnly() {
+        Map<String, Object> jwk = this.signingKeys().jwks().get(0);
+
+        assertEquals(Set.of("kty", "crv", "use", "alg", "kid", "x", "y"), jwk.keySet());
+        assertEquals("ES256", jwk.get("alg"));
+    }
+
+    private static SigningKeyRepository repository(List<SigningKeyEntity> stored) {
+        SigningKeyRepository repository = Mockito.mock(SigningKeyRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            stored.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(repository.findByExpiresAtAfterOrderByActivatesAtDesc(any())).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            return stored.stream()
+                    .filter(key -> key.getExpiresAt().isAfter(now))
+                    .sorted(Comparator.comparing(SigningKeyEntity::getActivatesAt).reversed())
+                    .toList();
+        });
+        return repository;
+    }
+
+    private EcSigningKeys signingKeys() {
+        EcSigningKeys signingKeys = new EcSigningKeys(signingKeyRepository, ROTATION_INTERVAL, OVERLAP, Duration.ZERO,
+                Duration.ZERO);
+        signingKeys.refresh();
+        return signingKeys;
+    }
+
+    private TokenService tokenService(SigningKeys signingKeys) {
+        return new TokenService(signingKeys, new SimpleMeterRegistry(), false, 0, false, Duration.ofMinutes(15));
+    }
+}
@@ -0,0 +1,64 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginThrottleTests {
+    private static final int IP_CAPACITY = 10;
+    private static final int EMAIL_CAPACITY = 3;
+
+    private final LoginThrottle loginThrottle = new LoginThrottle(new SimpleMeterRegistry(), true, IP_CAPACITY,
+            Duration.ofHours(1), EMAIL_CAPACITY, Duration.ofHours(1), Duration.ofMinutes(10), 1000);
+
+    @Test
+    void emailIsRejectedAfterItsCapacity() {
+        for (int i = 0; i < EMAIL_CAPACITY; i++) {
+            assertTrue(loginThrottle.tryAcquire("user@example.com", "10.0.0." + i));
+        }
+
+        assertFalse(loginThrottle.tryAcquire("user@example.com", "10.0.0.99"));
+        assertFalse(loginThrottle.tryAcquire(" USER@Example.com ", "10.0.0.100"));
+        assertTrue(loginThrottle.tryAcquire("other@example.com", "10.0.0.101"));
+        assertEquals(2, loginThrottle.rejectedByEmail());
+    }
+
+    @Test
+    void ipIsRejectedAfterItsCapacity() {
+        for (int i = 0; i < IP_CAPACITY; i++) {
+            assertTrue(loginThrottle.tryAcquire("user" + i + "@example.com", "10.0.0.1"));
+        }
+
+        assertFalse(loginThrottle.tryAcquire("another@example.com", "10.0.0.1"));
+        assertTrue(loginThrottle.tryAcquire("another@example.com", "10.0.0.2"));
+        assertEquals(1, loginThrottle.rejectedByIp());
+    }
+
+    @Test
+    void bucketRefillsOverTime() throws InterruptedException {
+        LoginThrottle throttle = new LoginThrottle(new SimpleMeterRegistry(), true, IP_CAPACITY, Duration.ofHours(1),
+                1, Duration.ofMillis(50), Duration.ofMinutes(10), 1000);
+
+        assertTrue(throttle.tryAcquire("user@example.com", null));
+        assertFalse(throttle.tryAcquire("user@example.com", null));
+
+        Thread.sleep(100);
+
+        assertTrue(throttle.tryAcquire("user@example.com", null));
+    }
+
+    @Test
+    void disabledThrottleAcceptsEverything() {
+        LoginThrottle throttle = new LoginThrottle(new SimpleMeterRegistry(), false, 1, Duration.ofHours(1), 1,
+                Duration.ofHours(1), Duration.ofMinutes(10), 1000);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(throttle.tryAcquire("user@example.com", "10.0.0.1"));
+        }
+    }
+}
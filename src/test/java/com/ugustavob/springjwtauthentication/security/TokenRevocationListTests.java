@@ -0,0 +1,101 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.ugustavob.springjwtauthentication.entities.token.RevokedTokenEntity;
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.repositories.token.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationListTests {
+    private static final Duration ACCESS_TTL = Duration.ofMinutes(15);
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenRevocationList tokenRevocationList;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = Mockito.mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(revokedTokenRepository.findByCreatedAtAfterAndExpiresAtAfter(any(), any())).thenReturn(List.of());
+
+        tokenRevocationList = new TokenRevocationList(revokedTokenRepository);
+        tokenRevocationList.load();
+    }
+
+    @Test
+    void revokedJtiIsRejectedAndOthersAreNot() {
+        Instant expiresAt = Instant.now().plus(ACCESS_TTL);
+
+        tokenRevocationList.revoke("revoked-jti", expiresAt);
+
+        assertTrue(tokenRevocationList.isRevoked("revoked-jti", expiresAt));
+        assertFalse(tokenRevocationList.isRevoked("other-jti", expiresAt));
+        assertFalse(tokenRevocationList.isRevoked(null, expiresAt));
+    }
+
+    @Test
+    void userCutOffIsInclusiveAndMillisecondPrecise() {
+        UUID userId = UUID.randomUUID();
+        Instant cutOff = Instant.parse("2026-01-01T12:00:00.500Z");
+
+        tokenRevocationList.revokeUser(userId, cutOff, cutOff.plus(ACCESS_TTL));
+
+        assertTrue(tokenRevocationList.isUserRevoked(userId, Instant.parse("2026-01-01T12:00:00.000Z")));
+        assertTrue(tokenRevocationList.isUserRevoked(userId, cutOff.minusMillis(1)));
+        assertTrue(tokenRevocationList.isUserRevoked(userId, cutOff));
+        assertFalse(tokenRevocationList.isUserRevoked(userId, cutOff.plusMillis(1)));
+        assertFalse(tokenRevocationList.isUserRevoked(userId, Instant.parse("2026-01-01T12:00:00.999Z")));
+        assertTrue(tokenRevocationList.isUserRevoked(userId, null));
+        assertFalse(tokenRevocationList.isUserRevoked(UUID.randomUUID(), cutOff));
+    }
+
+    @Test
+    void tokenIssuedInTheSameSecondAfterARevokeStaysValid() throws InterruptedException {
+        TokenService tokenService = new TokenService(new HmacSigningKeys("test-secret"), new SimpleMeterRegistry(),
+                false, 0, false, ACCESS_TTL);
+        UserEntity user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        user.setRole(new HashSet<>(Set.of("ROLE_USER")));
+
+        DecodedJWT before = tokenService.verify(tokenService.generateToken(user));
+        Thread.sleep(2);
+        tokenRevocationList.revokeUser(user.getId(), TokenRevocationList.cutOff(), Instant.now().plus(ACCESS_TTL));
+        Thread.sleep(2);
+        DecodedJWT after = tokenService.verify(tokenService.generateToken(user));
+
+        assertTrue(tokenRevocationList.isUserRevoked(user.getId(), tokenService.issuedAt(before)));
+        assertFalse(tokenRevocationList.isUserRevoked(user.getId(), tokenService.issuedAt(after)));
+    }
+
+    @Test
+    void syncAppliesRevocationsWrittenByAnotherInstance() {
+        UUID userId = UUID.randomUUID();
+        Instant now = Instant.now();
+        when(revokedTokenRepository.findByCreatedAtAfterAndExpiresAtAfter(any(), any())).thenReturn(List.of(
+                new RevokedTokenEntity(UUID.randomUUID(), "remote-jti", null, null, now.plus(ACCESS_TTL), now),
+                new RevokedTokenEntity(UUID.randomUUID(), null, userId, now, now.plus(ACCESS_TTL), now)));
+
+        assertFalse(tokenRevocationList.isRevoked("remote-jti", now.plus(ACCESS_TTL)));
+
+        tokenRevocationList.purgeExpired();
+
+        assertTrue(tokenRevocationList.isRevoked("remote-jti", now.plus(ACCESS_TTL)));
+        assertTrue(tokenRevocationList.isUserRevoked(userId, now.minusSeconds(1)));
+    }
+}
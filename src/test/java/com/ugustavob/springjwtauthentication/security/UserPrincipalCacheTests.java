@@ -0,0 +1,71 @@
+package com.ugustavob.springjwtauthentication.security;
+
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserPrincipalCacheTests {
+    private static final String EMAIL = "user@example.com";
+
+    private UserRepository userRepository;
+    private UserPrincipalCache userPrincipalCache;
+    private final UserEntity user = new UserEntity();
+
+    @BeforeEach
+    void setUp() {
+        userRepository = Mockito.mock(UserRepository.class);
+        userPrincipalCache = new UserPrincipalCache(userRepository, new SimpleMeterRegistry(), true, 100,
+                Duration.ofMinutes(1));
+
+        user.setId(UUID.randomUUID());
+        user.setEmail(EMAIL);
+        user.setPassword("hash");
+        user.setRole(new HashSet<>(Set.of("ROLE_USER")));
+        when(userRepository.findByEmail(EMAIL)).thenAnswer(invocation -> Optional.of(user));
+    }
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        userPrincipalCache.findByEmail(EMAIL);
+        userPrincipalCache.findByEmail(EMAIL);
+
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void invalidationExposesChangedRolesOnTheNextLookup() {
+        assertEquals(Set.of("ROLE_USER"), userPrincipalCache.findByEmail(EMAIL).orElseThrow().roles());
+
+        user.getRole().add("ROLE_ADMIN");
+        assertEquals(Set.of("ROLE_USER"), userPrincipalCache.findByEmail(EMAIL).orElseThrow().roles());
+
+        userPrincipalCache.invalidate(EMAIL);
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), userPrincipalCache.findByEmail(EMAIL).orElseThrow().roles());
+    }
+
+    @Test
+    void missingUsersAreNotCached() {
+        String email = "new@example.com";
+        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+
+        assertTrue(userPrincipalCache.findByEmail(email).isEmpty());
+        userPrincipalCache.findByEmail(email);
+
+        verify(userRepository, times(2)).findByEmail(email);
+    }
+}
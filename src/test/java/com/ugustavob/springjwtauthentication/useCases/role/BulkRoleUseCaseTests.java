@@ -0,0 +1,92 @@
+package com.ugustavob.springjwtauthentication.useCases.role;
+
+import com.ugustavob.springjwtauthentication.dto.BulkRoleRequestDTO;
+import com.ugustavob.springjwtauthentication.dto.BulkRoleResponseDTO;
+import com.ugustavob.springjwtauthentication.security.TokenVersionStore;
+import com.ugustavob.springjwtauthentication.security.UserPrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the statement and bindings sent to the database; the SQL itself is PostgreSQL specific.
+ */
+class BulkRoleUseCaseTests {
+    private final UUID callerId = UUID.randomUUID();
+
+    private JdbcTemplate jdbcTemplate;
+    private BulkRoleUseCase bulkRoleUseCase;
+    private Connection connection;
+    private PreparedStatement ps;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        connection = Mockito.mock(Connection.class);
+        ps = Mockito.mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(ps);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenReturn(List.of());
+
+        bulkRoleUseCase = new BulkRoleUseCase(jdbcTemplate, Mockito.mock(TokenVersionStore.class),
+                Mockito.mock(UserPrincipalCache.class));
+    }
+
+    @Test
+    void revokeExcludesTheCaller() throws SQLException {
+        BulkRoleResponseDTO response = bulkRoleUseCase.execute(BulkRoleUseCase.Action.REVOKE,
+                new BulkRoleRequestDTO("admin", null, null, "example.com"), callerId);
+
+        String sql = this.prepare();
+
+        assertTrue(sql.contains("from users u where lower(u.email) like ? escape '\\' and u.id <> ?"), sql);
+        verify(ps).setObject(1, "%@example.com");
+        verify(ps).setObject(2, callerId);
+        verify(ps).setString(3, "ROLE_ADMIN");
+        assertEquals(new BulkRoleResponseDTO("ROLE_ADMIN", 0), response);
+    }
+
+    @Test
+    void grantDoesNotExcludeTheCaller() throws SQLException {
+        bulkRoleUseCase.execute(BulkRoleUseCase.Action.GRANT,
+                new BulkRoleRequestDTO("ROLE_MODERATOR", null, null, "example.com"), callerId);
+
+        String sql = this.prepare();
+
+        assertFalse(sql.contains("u.id <> ?"), sql);
+        verify(ps).setObject(1, "%@example.com");
+        verify(ps).setString(2, "ROLE_MODERATOR");
+        verify(ps).setString(3, "ROLE_MODERATOR");
+        verify(ps, never()).setObject(anyInt(), eq(callerId));
+    }
+
+    private String prepare() throws SQLException {
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowMapper.class));
+        creator.getValue().createPreparedStatement(connection);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture());
+        return sql.getValue();
+    }
+}
@@ -0,0 +1,114 @@
+package com.ugustavob.springjwtauthentication.useCases.token;
+
+import com.ugustavob.springjwtauthentication.dto.LoginResponseDTO;
+import com.ugustavob.springjwtauthentication.entities.token.RefreshTokenEntity;
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.exceptions.InvalidRefreshTokenException;
+import com.ugustavob.springjwtauthentication.repositories.token.RefreshTokenRepository;
+import com.ugustavob.springjwtauthentication.security.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenUseCaseTests {
+    private static final String RAW_TOKEN = "raw-refresh-token";
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private CreateRefreshTokenUseCase createRefreshTokenUseCase;
+    private TokenService tokenService;
+    private RefreshTokenUseCase refreshTokenUseCase;
+
+    private final UUID familyId = UUID.randomUUID();
+    private final UserEntity user = new UserEntity();
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = Mockito.mock(RefreshTokenRepository.class);
+        createRefreshTokenUseCase = Mockito.mock(CreateRefreshTokenUseCase.class);
+        tokenService = Mockito.mock(TokenService.class);
+        refreshTokenUseCase = new RefreshTokenUseCase(refreshTokenRepository, createRefreshTokenUseCase, tokenService);
+
+        user.setName("User");
+        when(createRefreshTokenUseCase.execute(user, familyId)).thenReturn("rotated-refresh-token");
+        when(tokenService.generateToken(user)).thenReturn("access-token");
+    }
+
+    @Test
+    void activeTokenIsRotatedWithinItsFamily() {
+        RefreshTokenEntity token = this.stored(Instant.now().plus(Duration.ofDays(1)), false);
+        when(refreshTokenRepository.revokeIfActive(token.getId())).thenReturn(1);
+
+        LoginResponseDTO response = refreshTokenUseCase.execute(RAW_TOKEN);
+
+        assertEquals(new LoginResponseDTO("User", "access-token", "rotated-refresh-token"), response);
+        verify(refreshTokenRepository).revokeIfActive(token.getId());
+        verify(refreshTokenRepository, never()).revokeFamily(any());
+    }
+
+    @Test
+    void rotatedTokenPresentedAgainRevokesTheFamily() {
+        this.stored(Instant.now().plus(Duration.ofDays(1)), true);
+
+        InvalidRefreshTokenException e = assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenUseCase.execute(RAW_TOKEN));
+
+        assertEquals("Refresh token reuse detected", e.getMessage());
+        verify(refreshTokenRepository).revokeFamily(familyId);
+        verify(createRefreshTokenUseCase, never()).execute(any(), any());
+    }
+
+    @Test
+    void losingAConcurrentRotationCountsAsReuse() {
+        RefreshTokenEntity token = this.stored(Instant.now().plus(Duration.ofDays(1)), false);
+        when(refreshTokenRepository.revokeIfActive(token.getId())).thenReturn(0);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenUseCase.execute(RAW_TOKEN));
+
+        verify(refreshTokenRepository).revokeFamily(familyId);
+        verify(createRefreshTokenUseCase, never()).execute(any(), any());
+    }
+
+    @Test
+    void expiredTokenPresentedTwiceIsNotTreatedAsReuse() {
+        this.stored(Instant.now().minus(Duration.ofMinutes(1)), false);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            InvalidRefreshTokenException e = assertThrows(InvalidRefreshTokenException.class,
+                    () -> refreshTokenUseCase.execute(RAW_TOKEN));
+            assertEquals("Refresh token expired", e.getMessage());
+        }
+
+        verify(refreshTokenRepository, times(2)).findByTokenHash(TokenService.digest(RAW_TOKEN));
+        verify(refreshTokenRepository, never()).revokeIfActive(any());
+        verify(refreshTokenRepository, never()).revokeFamily(any());
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenUseCase.execute(RAW_TOKEN));
+
+        verify(refreshTokenRepository, never()).revokeFamily(any());
+    }
+
+    private RefreshTokenEntity stored(Instant expiresAt, boolean revoked) {
+        RefreshTokenEntity token = new RefreshTokenEntity(UUID.randomUUID(), user, TokenService.digest(RAW_TOKEN),
+                familyId, expiresAt, revoked);
+        when(refreshTokenRepository.findByTokenHash(TokenService.digest(RAW_TOKEN))).thenReturn(Optional.of(token));
+        return token;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ugustavob.springjwtauthentication.useCases.user;
+
+import com.ugustavob.springjwtauthentication.dto.GetUserResponseDTO;
+import com.ugustavob.springjwtauthentication.exceptions.UserNotFoundException;
+import com.ugustavob.springjwtauthentication.security.EmailExistenceFilter;
+import com.ugustavob.springjwtauthentication.security.TokenRevocationList;
+import com.ugustavob.springjwtauthentication.security.TokenService;
+import com.ugustavob.springjwtauthentication.security.TokenVersionStore;
+import com.ugustavob.springjwtauthentication.security.UserPrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the statement and bindings sent to the database; the SQL itself is PostgreSQL specific.
+ */
+class DeleteUserUseCaseTests {
+    private static final Duration ACCESS_TTL = Duration.ofMinutes(15);
+
+    private final UUID id = UUID.randomUUID();
+
+    private JdbcTemplate jdbcTemplate;
+    private TokenRevocationList tokenRevocationList;
+    private UserPrincipalCache userPrincipalCache;
+    private EmailExistenceFilter emailExistenceFilter;
+    private DeleteUserUseCase deleteUserUseCase;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        tokenRevocationList = Mockito.mock(TokenRevocationList.class);
+        userPrincipalCache = Mockito.mock(UserPrincipalCache.class);
+        emailExistenceFilter = Mockito.mock(EmailExistenceFilter.class);
+        TokenService tokenService = Mockito.mock(TokenService.class);
+        when(tokenService.getAccessTokenTtl()).thenReturn(ACCESS_TTL);
+
+        deleteUserUseCase = new DeleteUserUseCase(jdbcTemplate, userPrincipalCache, emailExistenceFilter,
+                tokenRevocationList, Mockito.mock(TokenVersionStore.class), tokenService);
+    }
+
+    @Test
+    void deleteRevokesTokensInTheSameStatement() {
+        GetUserResponseDTO deleted = new GetUserResponseDTO(id, "User", "user@example.com");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(deleted));
+        Instant before = Instant.now();
+
+        assertEquals(deleted, deleteUserUseCase.execute(id));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+
+        assertTrue(sql.getValue().contains("insert into revoked_tokens"), sql.getValue());
+        assertTrue(sql.getValue().contains("from deleted"), sql.getValue());
+        Instant issuedBefore = ((Timestamp) args.getValue()[1]).toInstant();
+        Instant expiresAt = ((Timestamp) args.getValue()[2]).toInstant();
+        assertEquals(id, args.getValue()[0]);
+        assertFalse(issuedBefore.isBefore(before.truncatedTo(ChronoUnit.MILLIS)));
+        assertEquals(issuedBefore.plus(ACCESS_TTL), expiresAt);
+
+        verify(tokenRevocationList).applyUserRevocations(List.of(id), issuedBefore, expiresAt);
+        verify(userPrincipalCache).invalidate("user@example.com");
+        verify(emailExistenceFilter).remove("user@example.com");
+    }
+
+    @Test
+    void missingUserRevokesNothing() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        assertThrows(UserNotFoundException.class, () -> deleteUserUseCase.execute(id));
+
+        verify(tokenRevocationList, never()).applyUserRevocations(any(), any(), any());
+        verifyNoInteractions(userPrincipalCache, emailExistenceFilter);
+    }
+}
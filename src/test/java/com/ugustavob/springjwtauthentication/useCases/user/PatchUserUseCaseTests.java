@@ -0,0 +1,123 @@
+package com.ugustavob.springjwtauthentication.useCases.user;
+
+import com.ugustavob.springjwtauthentication.dto.PatchUserRequestDTO;
+import com.ugustavob.springjwtauthentication.entities.user.UserEntity;
+import com.ugustavob.springjwtauthentication.exceptions.UserAlreadyExistsException;
+import com.ugustavob.springjwtauthentication.repositories.user.UserRepository;
+import com.ugustavob.springjwtauthentication.security.EmailExistenceFilter;
+import com.ugustavob.springjwtauthentication.security.PasswordHashingService;
+import com.ugustavob.springjwtauthentication.security.UserPrincipalCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs without a test transaction so each patch commits like it does in production. The unique
+ * index stands in for the {@code lower(email)} index the migrations create.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(PatchUserUseCase.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PatchUserUseCaseTests {
+    @Autowired
+    private PatchUserUseCase patchUserUseCase;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private PasswordHashingService passwordHashingService;
+
+    @MockitoBean
+    private EmailExistenceFilter emailExistenceFilter;
+
+    @MockitoBean
+    private UserPrincipalCache userPrincipalCache;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("create unique index if not exists ux_users_email on users (email)");
+        user = userRepository.save(this.user("User", "user@example.com"));
+        userRepository.save(this.user("Other", "other@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void onlySentFieldsAreUpdated() {
+        patchUserUseCase.execute(user.getId(), new PatchUserRequestDTO("Renamed", null, null));
+
+        UserEntity patched = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals("Renamed", patched.getName());
+        assertEquals("user@example.com", patched.getEmail());
+        assertEquals("hash", patched.getPassword());
+        assertEquals(user.getVersion() + 1, patched.getVersion());
+        verify(passwordHashingService, never()).encode(any());
+        verify(emailExistenceFilter, never()).add(any());
+    }
+
+    @Test
+    void unchangedFieldsWriteNothing() {
+        patchUserUseCase.execute(user.getId(), new PatchUserRequestDTO("User", "user@example.com", null));
+
+        assertEquals(user.getVersion(), userRepository.findById(user.getId()).orElseThrow().getVersion());
+        verify(userPrincipalCache, never()).invalidate(any());
+    }
+
+    @Test
+    void passwordIsHashedOnlyWhenSent() {
+        when(passwordHashingService.encode("new-password")).thenReturn("new-hash");
+
+        patchUserUseCase.execute(user.getId(), new PatchUserRequestDTO(null, null, "new-password"));
+
+        UserEntity patched = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals("new-hash", patched.getPassword());
+        assertEquals("User", patched.getName());
+    }
+
+    @Test
+    void takenEmailIsRejected() {
+        assertThrows(UserAlreadyExistsException.class,
+                () -> patchUserUseCase.execute(user.getId(), new PatchUserRequestDTO("Renamed", "other@example.com",
+                        null)));
+
+        UserEntity unchanged = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals("User", unchanged.getName());
+        assertEquals("user@example.com", unchanged.getEmail());
+        verify(userPrincipalCache, never()).invalidate(any());
+    }
+
+    private UserEntity user(String name, String email) {
+        UserEntity user = new UserEntity();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setRole(new HashSet<>(Set.of("ROLE_USER")));
+        return user;
+    }
+}